@@ -0,0 +1,147 @@
+package de.tecca.enderborne.corruption;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of the corruption engine against an in-memory End-like terrain
+ * Run with ./gradlew jmh - the gc profiler reports allocations per operation
+ * Everything runs on ArrayCorruptionView, so results do not depend on a
+ * server, chunk loading or disk
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CorruptionBenchmark {
+
+    private static final int CHUNKS = 4;
+    private static final int BOTTOM_Y = 0;
+    private static final int HEIGHT = 256;
+    private static final int CATALYSTS = 16;
+
+    private ArrayCorruptionView view;
+    private CorruptionProfile profile;
+    private ChunkCorruptionState state;
+    private long[] catalysts;
+    private Random random;
+
+    @Setup
+    public void setup() throws IOException {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        profile = CorruptionProfiles.loadBundled(World.END);
+        view = new ArrayCorruptionView(0, 0, CHUNKS, CHUNKS, BOTTOM_Y, HEIGHT);
+        random = Random.create(42L);
+
+        // Rolling end stone terrain with a few floating layers of air pockets
+        BlockState endStone = Blocks.END_STONE.getDefaultState();
+        for (int x = 0; x < view.getSizeX(); x++) {
+            for (int z = 0; z < view.getSizeZ(); z++) {
+                int top = 48 + (int) (8 * Math.sin(x * 0.2) * Math.cos(z * 0.15));
+                for (int y = 1; y <= top; y++) {
+                    if ((y & 15) != 7 || ((x ^ z) & 3) != 0) {
+                        view.setBlockState(x, y, z, endStone);
+                    }
+                }
+            }
+        }
+
+        // Catalysts sitting on sculk, as after a round of chunk corruption
+        state = new ChunkCorruptionState();
+        catalysts = new long[CATALYSTS];
+        for (int i = 0; i < CATALYSTS; i++) {
+            int x = random.nextInt(16);
+            int z = random.nextInt(16);
+            int y = view.getSurfaceY(x, z) - 1;
+
+            view.setBlockState(x, y, z, Blocks.SCULK_CATALYST.getDefaultState());
+            view.setBlockState(x, y - 1, z, Blocks.SCULK.getDefaultState());
+            catalysts[i] = BlockPos.asLong(x, y, z);
+            state.addCatalyst(catalysts[i]);
+        }
+    }
+
+    /**
+     * Column search for a patch center over a whole chunk
+     */
+    @Benchmark
+    public void findCorruptibleY(Blackhole blackhole) {
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                blackhole.consume(view.findCorruptibleY(x, z, profile));
+            }
+        }
+    }
+
+    /**
+     * Planning one patch, including the stamp walk and output picks
+     */
+    @Benchmark
+    public CorruptionBatch createCorruptionPatch() {
+        int x = random.nextInt(view.getSizeX());
+        int z = random.nextInt(view.getSizeZ());
+        CorruptionBatch batch = new CorruptionBatch();
+
+        SculkCorruptionManager.createCorruptionPatch(view, profile,
+                new BlockPos(x, view.getSurfaceY(x, z) - 1, z), random, batch);
+        return batch;
+    }
+
+    /**
+     * Whole-chunk planning as the scheduler does it, for reference
+     */
+    @Benchmark
+    public CorruptionBatch planChunkCorruption() {
+        CorruptionBatch batch = new CorruptionBatch();
+        SculkCorruptionManager.planChunkCorruption(view, profile,
+                new ChunkPos(random.nextInt(CHUNKS), random.nextInt(CHUNKS)), random, batch);
+        return batch;
+    }
+
+    /**
+     * Picking a catalyst from a chunk and growing its frontier by one step
+     * The frontier is reset afterwards so every call pays for rebuilding it,
+     * like the first spread after a chunk loads
+     */
+    @Benchmark
+    public CorruptionBatch findAndSpreadFromCatalyst() {
+        CorruptionBatch batch = new CorruptionBatch();
+
+        BlockPos catalyst = CatalystIndex.pickRandom(view, state, random);
+        SculkCorruptionManager.planCatalystSpread(view, profile, state.getFrontier(catalyst.asLong()),
+                random, 1, batch);
+
+        state.wakeNear(catalyst.getX(), catalyst.getY(), catalyst.getZ(), 0);
+        return batch;
+    }
+
+    /**
+     * Growing a fresh frontier by one step from a known catalyst
+     */
+    @Benchmark
+    public CorruptionBatch spreadFromCatalyst() {
+        CorruptionBatch batch = new CorruptionBatch();
+        CatalystFrontier frontier = new CatalystFrontier(catalysts[random.nextInt(CATALYSTS)]);
+
+        SculkCorruptionManager.planCatalystSpread(view, profile, frontier, random, 1, batch);
+        return batch;
+    }
+}
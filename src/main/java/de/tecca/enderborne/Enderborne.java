@@ -1,13 +1,28 @@
 package de.tecca.enderborne;
 
+import de.tecca.enderborne.command.EnderborneCommands;
+import de.tecca.enderborne.config.EnderborneConfig;
+import de.tecca.enderborne.corruption.CatalystIndex;
+import de.tecca.enderborne.corruption.ChunkCorruptionState;
+import de.tecca.enderborne.corruption.CleansingWave;
+import de.tecca.enderborne.corruption.CorruptionCensus;
+import de.tecca.enderborne.corruption.CorruptionJournal;
+import de.tecca.enderborne.corruption.CorruptionProfiles;
+import de.tecca.enderborne.corruption.CorruptionScheduler;
 import de.tecca.enderborne.entity.TradingEndermanEntity;
 import de.tecca.enderborne.managers.PlayerSpawnManager;
 import de.tecca.enderborne.managers.DragonProgressManager;
+import de.tecca.enderborne.spawn.ChunkRequests;
+import de.tecca.enderborne.spawn.EndSpawnPool;
+import de.tecca.enderborne.spawn.EndSpawnSearch;
+import de.tecca.enderborne.worldgen.EnderborneFeatures;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.attachment.v1.AttachmentRegistry;
 import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
 import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
+import net.fabricmc.fabric.api.event.player.PlayerBlockBreakEvents;
 import net.fabricmc.fabric.api.object.builder.v1.entity.FabricDefaultAttributeRegistry;
+import net.minecraft.block.Blocks;
 import net.minecraft.entity.EntityDimensions;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.SpawnGroup;
@@ -16,6 +31,7 @@ import net.minecraft.registry.Registry;
 import net.minecraft.registry.RegistryKey;
 import net.minecraft.registry.RegistryKeys;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,9 +82,17 @@ public class Enderborne implements ModInitializer {
 			() -> 0
 	);
 
+	// Chunk attachment - processed flag, level, catalysts and placed blocks of the corruption
+	public static final AttachmentType<ChunkCorruptionState> CHUNK_CORRUPTION = AttachmentRegistry.<ChunkCorruptionState>builder()
+			.persistent(ChunkCorruptionState.CODEC)
+			.initializer(ChunkCorruptionState::new)
+			.buildAndRegister(Identifier.of(MOD_ID, "chunk_corruption"));
+
 	// Managers for different aspects of the mod
+	private static EnderborneConfig config;
 	private static PlayerSpawnManager spawnManager;
 	private static DragonProgressManager dragonManager;
+	private static CorruptionScheduler corruptionScheduler;
 
 	@Override
 	public void onInitialize() {
@@ -77,13 +101,27 @@ public class Enderborne implements ModInitializer {
 		// Register entity attributes (REQUIRED for living entities)
 		registerEntityAttributes();
 
+		// Register world generation features and datapack corruption profiles
+		EnderborneFeatures.register();
+		CorruptionProfiles.register();
+
+		// Load server configuration
+		config = EnderborneConfig.load();
+
 		// Initialize managers
 		spawnManager = new PlayerSpawnManager();
 		dragonManager = new DragonProgressManager();
+		corruptionScheduler = new CorruptionScheduler(config);
 
 		// Register player events using Fabric API
 		registerPlayerEvents();
 
+		// Register world events that keep corruption bookkeeping in sync
+		registerCorruptionEvents();
+
+		// Operator commands
+		EnderborneCommands.register();
+
 		LOGGER.info("Enderborne initialized successfully!");
 		LOGGER.info("Registered Trading Enderman entity: {}", TRADING_ENDERMAN);
 	}
@@ -110,6 +148,48 @@ public class Enderborne implements ModInitializer {
 
 		// Player leaves server (for cleanup if needed)
 		ServerPlayerEvents.LEAVE.register(this::onPlayerLeave);
+
+		// Asynchronous End spawn search, its pool and the chunk loading behind them
+		ChunkRequests.register();
+		EndSpawnSearch.register();
+		EndSpawnPool.register();
+	}
+
+	/**
+	 * Register world events used by the sculk corruption system
+	 */
+	private void registerCorruptionEvents() {
+		// Budgeted chunk corruption and natural spreading
+		corruptionScheduler.register();
+
+		// Journal of corruption changes for rollbacks
+		CorruptionJournal.register();
+
+		// Post-dragon cleansing wave
+		CleansingWave.register();
+
+		// Cached corruption census
+		CorruptionCensus.register();
+
+		// Keep the per-chunk corruption state in sync when players break corruption blocks
+		PlayerBlockBreakEvents.AFTER.register((world, player, pos, state, blockEntity) -> {
+			if (!(world instanceof ServerWorld serverWorld)) {
+				return;
+			}
+
+			if (state.isOf(Blocks.SCULK_CATALYST)) {
+				CatalystIndex.remove(serverWorld, pos);
+			}
+
+			ChunkCorruptionState corruption = ChunkCorruptionState.getIfPresent(world.getChunk(pos));
+			if (corruption != null && corruption.isPlaced(pos.getX(), pos.getY(), pos.getZ())) {
+				corruption.clearPlaced(pos.getX(), pos.getY(), pos.getZ());
+				world.getChunk(pos).markNeedsSaving();
+			}
+
+			// The gap can be corrupted again - reopen nearby catalyst frontiers
+			CatalystIndex.wakeNear(serverWorld, pos);
+		});
 	}
 
 	/**
@@ -121,11 +201,14 @@ public class Enderborne implements ModInitializer {
 		// Check if this is the player's first time in Enderborne
 		if (!spawnManager.hasPlayedBefore(player)) {
 			LOGGER.info("New player {} detected, teleporting to End islands", player.getName().getString());
-			spawnManager.teleportToEndIslands(player);
-			spawnManager.markPlayerAsPlayed(player);
 
-			// Send welcome message
-			spawnManager.sendWelcomeMessage(player);
+			// Only counts as played once they arrive, so leaving mid-search retries on the next join
+			spawnManager.teleportToEndIslands(player, arrived -> {
+				spawnManager.markPlayerAsPlayed(arrived);
+
+				// Send welcome message
+				spawnManager.sendWelcomeMessage(arrived);
+			});
 		} else {
 			LOGGER.debug("Returning player {} detected", player.getName().getString());
 		}
@@ -140,8 +223,7 @@ public class Enderborne implements ModInitializer {
 
 			// Always respawn in the End until Overworld is unlocked
 			if (!dragonManager.hasDefeatedDragon(newPlayer)) {
-				spawnManager.teleportToEndIslands(newPlayer);
-				spawnManager.sendRespawnMessage(newPlayer);
+				spawnManager.teleportToEndIslands(newPlayer, spawnManager::sendRespawnMessage);
 			}
 		}
 	}
@@ -151,10 +233,16 @@ public class Enderborne implements ModInitializer {
 	 */
 	private void onPlayerLeave(ServerPlayerEntity player) {
 		LOGGER.debug("Player {} left the server", player.getName().getString());
-		// Any cleanup logic can go here if needed
+
+		// Drop a running spawn search before the player is saved, with its waiting effects
+		EndSpawnSearch.cancel(player);
 	}
 
 	// Getters for managers (for use in other classes)
+	public static EnderborneConfig getConfig() {
+		return config;
+	}
+
 	public static PlayerSpawnManager getSpawnManager() {
 		return spawnManager;
 	}
@@ -162,4 +250,8 @@ public class Enderborne implements ModInitializer {
 	public static DragonProgressManager getDragonManager() {
 		return dragonManager;
 	}
+
+	public static CorruptionScheduler getCorruptionScheduler() {
+		return corruptionScheduler;
+	}
 }
\ No newline at end of file
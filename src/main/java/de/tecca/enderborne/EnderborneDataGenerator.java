@@ -1,11 +1,24 @@
 package de.tecca.enderborne;
 
+import de.tecca.enderborne.worldgen.EnderborneFeatures;
+import de.tecca.enderborne.worldgen.EnderborneWorldGenProvider;
 import net.fabricmc.fabric.api.datagen.v1.DataGeneratorEntrypoint;
 import net.fabricmc.fabric.api.datagen.v1.FabricDataGenerator;
+import net.minecraft.registry.RegistryBuilder;
+import net.minecraft.registry.RegistryKeys;
 
 public class EnderborneDataGenerator implements DataGeneratorEntrypoint {
 	@Override
 	public void onInitializeDataGenerator(FabricDataGenerator fabricDataGenerator) {
+		FabricDataGenerator.Pack pack = fabricDataGenerator.createPack();
 
+		// Configured and placed features for worldgen corruption
+		pack.addProvider(EnderborneWorldGenProvider::new);
+	}
+
+	@Override
+	public void buildRegistry(RegistryBuilder registryBuilder) {
+		registryBuilder.addRegistry(RegistryKeys.CONFIGURED_FEATURE, EnderborneFeatures::bootstrapConfigured);
+		registryBuilder.addRegistry(RegistryKeys.PLACED_FEATURE, EnderborneFeatures::bootstrapPlaced);
 	}
 }
@@ -0,0 +1,103 @@
+package de.tecca.enderborne.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import de.tecca.enderborne.corruption.CorruptionCensus;
+import de.tecca.enderborne.corruption.CorruptionJournal;
+import de.tecca.enderborne.corruption.CorruptionRollback;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.minecraft.command.argument.BlockPosArgumentType;
+import net.minecraft.command.argument.TimeArgumentType;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.BlockBox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Operator commands under /enderborne
+ */
+public final class EnderborneCommands {
+
+    private EnderborneCommands() {
+    }
+
+    public static void register() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> register(dispatcher));
+    }
+
+    private static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(CommandManager.literal("enderborne")
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(CommandManager.literal("corruption")
+                        // Count corruption in every loaded chunk, or around the source
+                        .then(CommandManager.literal("census")
+                                .executes(context -> census(context, -1))
+                                .then(CommandManager.argument("radius", IntegerArgumentType.integer(0, 256))
+                                        .executes(context -> census(context,
+                                                IntegerArgumentType.getInteger(context, "radius")))))
+                        .then(CommandManager.literal("rollback")
+                                // Undo everything the corruption changed inside a box
+                                .then(CommandManager.literal("area")
+                                        .then(CommandManager.argument("from", BlockPosArgumentType.blockPos())
+                                                .then(CommandManager.argument("to", BlockPosArgumentType.blockPos())
+                                                        .executes(EnderborneCommands::rollbackArea))))
+                                // Undo everything the corruption changed in the last given time
+                                .then(CommandManager.literal("last")
+                                        .then(CommandManager.argument("time", TimeArgumentType.time(1))
+                                                .executes(EnderborneCommands::rollbackLast))))));
+    }
+
+    private static int census(CommandContext<ServerCommandSource> context, int radius) {
+        ServerCommandSource source = context.getSource();
+
+        // A radius is relative to the source, so it only makes sense in its own dimension
+        List<ServerWorld> worlds = new ArrayList<>();
+        if (radius >= 0) {
+            worlds.add(source.getWorld());
+        } else {
+            source.getServer().getWorlds().forEach(worlds::add);
+        }
+
+        if (!CorruptionCensus.start(source, worlds, radius)) {
+            source.sendError(Text.literal("A corruption census is already running"));
+            return 0;
+        }
+
+        source.sendFeedback(() -> Text.literal("§7Counting corruption..."), false);
+        return 1;
+    }
+
+    private static int rollbackArea(CommandContext<ServerCommandSource> context) {
+        BlockBox area = BlockBox.create(
+                BlockPosArgumentType.getBlockPos(context, "from"),
+                BlockPosArgumentType.getBlockPos(context, "to"));
+        ServerWorld world = context.getSource().getWorld();
+        return startRollback(context.getSource(), CorruptionRollback.inArea(context.getSource(), world, area));
+    }
+
+    private static int rollbackLast(CommandContext<ServerCommandSource> context) {
+        int ticks = IntegerArgumentType.getInteger(context, "time");
+        ServerWorld world = context.getSource().getWorld();
+        return startRollback(context.getSource(), CorruptionRollback.since(context.getSource(), world, ticks));
+    }
+
+    private static int startRollback(ServerCommandSource source, CorruptionRollback rollback) {
+        if (!CorruptionJournal.isOpen()) {
+            source.sendError(Text.literal("The corruption journal is disabled"));
+            return 0;
+        }
+        if (!CorruptionJournal.startRollback(rollback)) {
+            source.sendError(Text.literal("Another corruption rollback is still running"));
+            return 0;
+        }
+
+        source.sendFeedback(() -> Text.literal("§7Rolling back corruption in "
+                + rollback.getDimension().getValue() + "..."), true);
+        return 1;
+    }
+}
@@ -0,0 +1,340 @@
+package de.tecca.enderborne.config;
+
+import de.tecca.enderborne.Enderborne;
+import de.tecca.enderborne.corruption.BlockEntityCaps;
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Server-side configuration loaded from config/enderborne.properties
+ * Missing keys are filled in with their defaults and written back on load
+ */
+public class EnderborneConfig {
+
+    private static final String FILE_NAME = "enderborne.properties";
+
+    private final Properties properties = new Properties();
+    private boolean missingKeys = false;
+
+    // Corruption scheduler
+    private final int corruptionTickBudgetMicros;
+    private final int corruptionReprioritizeTicks;
+    private final int corruptionPlannerThreads;
+    private final int corruptionMaxPlansInFlight;
+    private final boolean corruptionSpreadNearPlayers;
+    private final int corruptionMidRangeChunks;
+    private final int corruptionMidRangeIntervalTicks;
+    private final int corruptionCatchUpIntervalTicks;
+    private final int corruptionMaxCatchUpSteps;
+    private final BlockEntityCaps corruptionBlockEntityCaps;
+    private final int corruptionListenerWakeRadius;
+    private final boolean corruptionJournalEnabled;
+    private final int corruptionJournalMaxMegabytes;
+    private final int corruptionRollbackBlocksPerTick;
+    private final int corruptionCensusTickBudgetMicros;
+
+    // Cleansing wave after the dragon fight
+    private final int cleansingTickBudgetMicros;
+    private final int cleansingTicksPerRing;
+    private final int cleansingMaxRadiusChunks;
+
+    // End spawn search
+    private final int spawnSearchAttempts;
+    private final int spawnChunkTimeoutTicks;
+    private final int spawnPoolSize;
+    private final int spawnPoolRefillMaxMspt;
+    private final int spawnPredictionColumns;
+    private final int spawnMaxConcurrentSearches;
+    private final int spawnAdmissionsPerTick;
+    private final int spawnMaxPendingChunks;
+
+    private EnderborneConfig(Properties loaded) {
+        this.properties.putAll(loaded);
+
+        this.corruptionTickBudgetMicros = readInt("corruption.tickBudgetMicros", 2000, 0);
+        this.corruptionReprioritizeTicks = readInt("corruption.reprioritizeTicks", 20, 1);
+        this.corruptionPlannerThreads = readInt("corruption.plannerThreads",
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 4), 1);
+        this.corruptionMaxPlansInFlight = readInt("corruption.maxPlansInFlight", 64, 1);
+        this.corruptionSpreadNearPlayers = readBoolean("corruption.spreadNearPlayers", true);
+        this.corruptionMidRangeChunks = readInt("corruption.midRangeChunks", 8, 0);
+        this.corruptionMidRangeIntervalTicks = readInt("corruption.midRangeIntervalTicks", 200, 1);
+        this.corruptionCatchUpIntervalTicks = readInt("corruption.catchUpIntervalTicks", 100, 1);
+        this.corruptionMaxCatchUpSteps = readInt("corruption.maxCatchUpSteps", 8, 1);
+        this.corruptionBlockEntityCaps = new BlockEntityCaps(
+                readInt("corruption.maxBlockEntitiesPerSection", 4, 0),
+                readInt("corruption.maxBlockEntitiesPerChunk", 16, 0));
+        this.corruptionListenerWakeRadius = readInt("corruption.listenerWakeRadius", 32, 1);
+        this.corruptionJournalEnabled = readBoolean("corruption.journal", true);
+        this.corruptionJournalMaxMegabytes = readInt("corruption.journalMaxMegabytes", 1024, 8);
+        this.corruptionRollbackBlocksPerTick = readInt("corruption.rollbackBlocksPerTick", 1024, 1);
+        this.corruptionCensusTickBudgetMicros = readInt("corruption.censusTickBudgetMicros", 1000, 1);
+        this.cleansingTickBudgetMicros = readInt("cleansing.tickBudgetMicros", 1000, 0);
+        this.cleansingTicksPerRing = readInt("cleansing.ticksPerRing", 20, 1);
+        this.cleansingMaxRadiusChunks = readInt("cleansing.maxRadiusChunks", 256, 0);
+        this.spawnSearchAttempts = readInt("spawn.searchAttempts", 50, 1);
+        this.spawnChunkTimeoutTicks = readInt("spawn.chunkTimeoutTicks", 200, 1);
+        this.spawnPoolSize = readInt("spawn.poolSize", 16, 0);
+        this.spawnPoolRefillMaxMspt = readInt("spawn.poolRefillMaxMspt", 30, 1);
+        this.spawnPredictionColumns = readInt("spawn.predictionColumns", 64, 1);
+        this.spawnMaxConcurrentSearches = readInt("spawn.maxConcurrentSearches", 8, 1);
+        this.spawnAdmissionsPerTick = readInt("spawn.admissionsPerTick", 1, 1);
+        this.spawnMaxPendingChunks = readInt("spawn.maxPendingChunks", 4, 1);
+    }
+
+    /**
+     * Load the config file, creating it with defaults if it does not exist
+     */
+    public static EnderborneConfig load() {
+        Path path = FabricLoader.getInstance().getConfigDir().resolve(FILE_NAME);
+        Properties loaded = new Properties();
+
+        if (Files.exists(path)) {
+            try (Reader reader = Files.newBufferedReader(path)) {
+                loaded.load(reader);
+            } catch (IOException e) {
+                Enderborne.LOGGER.error("Failed to read {}, using defaults: {}", path, e.getMessage());
+            }
+        }
+
+        EnderborneConfig config = new EnderborneConfig(loaded);
+
+        if (config.missingKeys) {
+            try (Writer writer = Files.newBufferedWriter(path)) {
+                config.properties.store(writer, "Enderborne server configuration");
+            } catch (IOException e) {
+                Enderborne.LOGGER.warn("Failed to write default config to {}: {}", path, e.getMessage());
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Read an integer value, falling back to the default when missing or invalid
+     */
+    private int readInt(String key, int defaultValue, int min) {
+        String raw = properties.getProperty(key);
+        if (raw == null) {
+            properties.setProperty(key, Integer.toString(defaultValue));
+            missingKeys = true;
+            return defaultValue;
+        }
+
+        try {
+            return Math.max(min, Integer.parseInt(raw.trim()));
+        } catch (NumberFormatException e) {
+            Enderborne.LOGGER.warn("Invalid value '{}' for {}, using default {}", raw, key, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Read a boolean value, falling back to the default when missing
+     */
+    private boolean readBoolean(String key, boolean defaultValue) {
+        String raw = properties.getProperty(key);
+        if (raw == null) {
+            properties.setProperty(key, Boolean.toString(defaultValue));
+            missingKeys = true;
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(raw.trim());
+    }
+
+    /**
+     * Time the corruption scheduler may spend per server tick, in microseconds
+     */
+    public int getCorruptionTickBudgetMicros() {
+        return corruptionTickBudgetMicros;
+    }
+
+    /**
+     * How often queued chunks are re-sorted by player distance, in ticks
+     */
+    public int getCorruptionReprioritizeTicks() {
+        return corruptionReprioritizeTicks;
+    }
+
+    /**
+     * Number of worker threads that plan chunk corruption off the server thread
+     */
+    public int getCorruptionPlannerThreads() {
+        return corruptionPlannerThreads;
+    }
+
+    /**
+     * Maximum number of chunk plans queued or running on the workers at once
+     */
+    public int getCorruptionMaxPlansInFlight() {
+        return corruptionMaxPlansInFlight;
+    }
+
+    /**
+     * Whether natural spreading favours loaded chunks near players
+     */
+    public boolean isCorruptionSpreadNearPlayers() {
+        return corruptionSpreadNearPlayers;
+    }
+
+    /**
+     * Chunks beyond simulation distance that still spread at a reduced rate;
+     * anything further from every player is frozen
+     */
+    public int getCorruptionMidRangeChunks() {
+        return corruptionMidRangeChunks;
+    }
+
+    /**
+     * Minimum ticks between spread steps of a mid-range chunk
+     */
+    public int getCorruptionMidRangeIntervalTicks() {
+        return corruptionMidRangeIntervalTicks;
+    }
+
+    /**
+     * Ticks of frozen or batched time that make up one missed spread step
+     */
+    public int getCorruptionCatchUpIntervalTicks() {
+        return corruptionCatchUpIntervalTicks;
+    }
+
+    /**
+     * Upper bound on the spread steps a chunk catches up at once
+     */
+    public int getCorruptionMaxCatchUpSteps() {
+        return corruptionMaxCatchUpSteps;
+    }
+
+    /**
+     * Per-section and per-chunk limits on sculk sensors, shriekers and catalysts
+     * placed by corruption
+     */
+    public BlockEntityCaps getCorruptionBlockEntityCaps() {
+        return corruptionBlockEntityCaps;
+    }
+
+    /**
+     * Distance in blocks a player must come within before corruption-placed
+     * sensors and shriekers start listening to game events
+     */
+    public int getCorruptionListenerWakeRadius() {
+        return corruptionListenerWakeRadius;
+    }
+
+    /**
+     * Whether corruption block changes are recorded in the rollback journal
+     */
+    public boolean isCorruptionJournalEnabled() {
+        return corruptionJournalEnabled;
+    }
+
+    /**
+     * Size the rollback journal may grow to, in MiB; past it the oldest records are overwritten
+     * Changing it starts a fresh journal
+     */
+    public int getCorruptionJournalMaxMegabytes() {
+        return corruptionJournalMaxMegabytes;
+    }
+
+    /**
+     * Maximum blocks a journal rollback restores per server tick
+     */
+    public int getCorruptionRollbackBlocksPerTick() {
+        return corruptionRollbackBlocksPerTick;
+    }
+
+    /**
+     * Time a corruption census may spend copying palettes per server tick, in microseconds
+     */
+    public int getCorruptionCensusTickBudgetMicros() {
+        return corruptionCensusTickBudgetMicros;
+    }
+
+    /**
+     * Time the cleansing wave may spend per server tick, in microseconds
+     */
+    public int getCleansingTickBudgetMicros() {
+        return cleansingTickBudgetMicros;
+    }
+
+    /**
+     * Minimum ticks before the cleansing wave moves on to the next ring of chunks
+     */
+    public int getCleansingTicksPerRing() {
+        return cleansingTicksPerRing;
+    }
+
+    /**
+     * Ring of chunks around the main island where the cleansing wave stops
+     */
+    public int getCleansingMaxRadiusChunks() {
+        return cleansingMaxRadiusChunks;
+    }
+
+    /**
+     * Candidates an End spawn search goes through before using the fallback spot,
+     * counting both loaded chunks that missed and prediction batches that were all void
+     */
+    public int getSpawnSearchAttempts() {
+        return spawnSearchAttempts;
+    }
+
+    /**
+     * Ticks a spawn search waits for a candidate chunk to load before skipping it
+     */
+    public int getSpawnChunkTimeoutTicks() {
+        return spawnChunkTimeoutTicks;
+    }
+
+    /**
+     * Verified End spawn points kept ready for new players, 0 to disable the pool
+     */
+    public int getSpawnPoolSize() {
+        return spawnPoolSize;
+    }
+
+    /**
+     * Average milliseconds per tick below which the spawn pool is refilled
+     */
+    public int getSpawnPoolRefillMaxMspt() {
+        return spawnPoolRefillMaxMspt;
+    }
+
+    /**
+     * Random columns screened against the terrain noise per predicted island candidate
+     */
+    public int getSpawnPredictionColumns() {
+        return spawnPredictionColumns;
+    }
+
+    /**
+     * End spawn searches that may run at once; further joins and respawns wait in a queue
+     * Running searches predict islands in parallel, but their chunk loads are
+     * capped separately by getSpawnMaxPendingChunks
+     */
+    public int getSpawnMaxConcurrentSearches() {
+        return spawnMaxConcurrentSearches;
+    }
+
+    /**
+     * Queued spawn searches started per server tick
+     */
+    public int getSpawnAdmissionsPerTick() {
+        return spawnAdmissionsPerTick;
+    }
+
+    /**
+     * Chunk loads spawn searches and pool refills may have pending at once
+     * Each search loads one chunk at a time, so this only binds below
+     * getSpawnMaxConcurrentSearches; searches over it wait for a slot
+     */
+    public int getSpawnMaxPendingChunks() {
+        return spawnMaxPendingChunks;
+    }
+}
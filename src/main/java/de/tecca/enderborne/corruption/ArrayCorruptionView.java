@@ -0,0 +1,173 @@
+package de.tecca.enderborne.corruption;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Arrays;
+
+/**
+ * Mutable CorruptionView over an in-memory voxel array, independent of any world
+ * Covers a rectangle of whole chunks over a fixed height; everything outside
+ * reads as air and cannot be written
+ * Used by benchmarks and the headless simulator to run the corruption rules
+ * without a server
+ */
+public class ArrayCorruptionView implements CorruptionView {
+
+    private static final BlockState AIR = Blocks.AIR.getDefaultState();
+
+    private final int minX;
+    private final int minZ;
+    private final int bottomY;
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+
+    // Indexed by (y * sizeZ + z) * sizeX + x, relative to the minimum corner
+    private final BlockState[] blocks;
+
+    // First free y above the highest non-air block per column, like WORLD_SURFACE
+    private final int[] surface;
+
+    public ArrayCorruptionView(int minChunkX, int minChunkZ, int chunksX, int chunksZ, int bottomY, int height) {
+        this.minX = minChunkX << 4;
+        this.minZ = minChunkZ << 4;
+        this.bottomY = bottomY;
+        this.sizeX = chunksX << 4;
+        this.sizeY = height;
+        this.sizeZ = chunksZ << 4;
+        this.blocks = new BlockState[sizeX * sizeY * sizeZ];
+        this.surface = new int[sizeX * sizeZ];
+
+        Arrays.fill(blocks, AIR);
+        Arrays.fill(surface, bottomY);
+    }
+
+    public int getMinX() {
+        return minX;
+    }
+
+    public int getMinZ() {
+        return minZ;
+    }
+
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    public int getSizeZ() {
+        return sizeZ;
+    }
+
+    public int getTopY() {
+        return bottomY + sizeY;
+    }
+
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x < minX + sizeX
+                && y >= bottomY && y < bottomY + sizeY
+                && z >= minZ && z < minZ + sizeZ;
+    }
+
+    /**
+     * Set a block, keeping the column surface up to date
+     */
+    public void setBlockState(int x, int y, int z, BlockState state) {
+        if (!contains(x, y, z)) {
+            return;
+        }
+
+        blocks[index(x, y, z)] = state;
+
+        int column = (z - minZ) * sizeX + (x - minX);
+        if (!state.isAir()) {
+            surface[column] = Math.max(surface[column], y + 1);
+        } else if (y + 1 == surface[column]) {
+            // Removed the top block - walk down to the next one
+            int top = y - 1;
+            while (top >= bottomY && getBlockState(x, top, z).isAir()) {
+                top--;
+            }
+            surface[column] = top + 1;
+        }
+    }
+
+    /**
+     * Write every change of a planned batch into the array
+     *
+     * @return the number of blocks that changed
+     */
+    public int apply(CorruptionBatch batch) {
+        int[] changed = new int[1];
+        batch.forEachChange((pos, state) -> {
+            int x = BlockPos.unpackLongX(pos);
+            int y = BlockPos.unpackLongY(pos);
+            int z = BlockPos.unpackLongZ(pos);
+            if (contains(x, y, z) && getBlockState(x, y, z) != state) {
+                setBlockState(x, y, z, state);
+                changed[0]++;
+            }
+        });
+        return changed[0];
+    }
+
+    @Override
+    public BlockState getBlockState(int x, int y, int z) {
+        return contains(x, y, z) ? blocks[index(x, y, z)] : AIR;
+    }
+
+    @Override
+    public int getSurfaceY(int x, int z) {
+        if (x < minX || x >= minX + sizeX || z < minZ || z >= minZ + sizeZ) {
+            return bottomY;
+        }
+        return surface[(z - minZ) * sizeX + (x - minX)];
+    }
+
+    @Override
+    public int getBottomY() {
+        return bottomY;
+    }
+
+    @Override
+    public boolean canWrite(int x, int y, int z) {
+        return contains(x, y, z);
+    }
+
+    @Override
+    public int countCappedBlockEntities(int chunkX, int sectionY, int chunkZ) {
+        int fromY = Math.max(bottomY, sectionY << 4);
+        int toY = Math.min(bottomY + sizeY, (sectionY << 4) + 16);
+        return countCapped(chunkX, chunkZ, fromY, toY);
+    }
+
+    @Override
+    public int countCappedBlockEntities(int chunkX, int chunkZ) {
+        return countCapped(chunkX, chunkZ, bottomY, bottomY + sizeY);
+    }
+
+    private int countCapped(int chunkX, int chunkZ, int fromY, int toY) {
+        int startX = chunkX << 4;
+        int startZ = chunkZ << 4;
+        if (startX < minX || startX >= minX + sizeX || startZ < minZ || startZ >= minZ + sizeZ) {
+            return 0;
+        }
+
+        int count = 0;
+        for (int y = fromY; y < toY; y++) {
+            for (int z = startZ; z < startZ + 16; z++) {
+                for (int x = startX; x < startX + 16; x++) {
+                    if (BlockEntityCaps.isCapped(blocks[index(x, y, z)])) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private int index(int x, int y, int z) {
+        return ((y - bottomY) * sizeZ + (z - minZ)) * sizeX + (x - minX);
+    }
+}
@@ -0,0 +1,51 @@
+package de.tecca.enderborne.corruption;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.world.chunk.PalettedContainer;
+
+import java.util.function.Predicate;
+
+/**
+ * Limits on corruption blocks that carry a ticking block entity and a
+ * game-event listener (sensors, shriekers and catalysts)
+ * Counted per chunk section and per chunk; once a limit is reached the planner
+ * places plain sculk instead
+ */
+public record BlockEntityCaps(int perSection, int perChunk) {
+
+    public static final BlockEntityCaps UNLIMITED = new BlockEntityCaps(Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    private static final Predicate<BlockState> CAPPED = BlockEntityCaps::isCapped;
+
+    /**
+     * Whether the state is one of the capped block-entity corruption blocks
+     */
+    public static boolean isCapped(BlockState state) {
+        return state.isOf(Blocks.SCULK_SENSOR)
+                || state.isOf(Blocks.SCULK_SHRIEKER)
+                || state.isOf(Blocks.SCULK_CATALYST);
+    }
+
+    public boolean isUnlimited() {
+        return perSection == Integer.MAX_VALUE && perChunk == Integer.MAX_VALUE;
+    }
+
+    /**
+     * Count the capped blocks in a section from its palette
+     * Sections whose palette has none are rejected without touching their storage
+     */
+    public static int count(PalettedContainer<BlockState> container) {
+        if (!container.hasAny(CAPPED)) {
+            return 0;
+        }
+
+        int[] total = new int[1];
+        container.count((state, count) -> {
+            if (isCapped(state)) {
+                total[0] += count;
+            }
+        });
+        return total[0];
+    }
+}
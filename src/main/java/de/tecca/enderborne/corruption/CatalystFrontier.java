@@ -0,0 +1,94 @@
+package de.tecca.enderborne.corruption;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.random.Random;
+
+/**
+ * Growth frontier of a single sculk catalyst
+ * Holds the positions within range that border the corruption and may still be
+ * corrupted, so each step only touches blocks that can actually grow
+ * Transient - after a reload it is rebuilt by walking the existing sculk from
+ * the catalyst outwards, which costs no writes
+ */
+final class CatalystFrontier {
+
+    // Chebyshev distance from the catalyst that corruption may reach
+    static final int RANGE = 3;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final long origin;
+    private final LongArrayList frontier = new LongArrayList();
+    private final LongOpenHashSet visited = new LongOpenHashSet();
+
+    CatalystFrontier(long origin) {
+        this.origin = origin;
+        visited.add(origin);
+        expand(origin);
+    }
+
+    /**
+     * Whether no position in range can take corruption any more
+     */
+    boolean isExhausted() {
+        return frontier.isEmpty();
+    }
+
+    /**
+     * Grow corruption at up to maxGrowth random frontier positions
+     * Returns the number of positions that were corrupted
+     */
+    int step(CorruptionView view, CorruptionProfile profile, Random random, CorruptionBatch batch, int maxGrowth) {
+        int grown = 0;
+
+        while (grown < maxGrowth && !frontier.isEmpty()) {
+            // Random pick keeps the growth organic instead of a flood-fill shell
+            int index = random.nextInt(frontier.size());
+            long packed = frontier.getLong(index);
+            long last = frontier.removeLong(frontier.size() - 1);
+            if (index < frontier.size()) {
+                frontier.set(index, last);
+            }
+
+            BlockPos pos = BlockPos.fromLong(packed);
+            BlockState state = batch.getBlockState(view, pos);
+
+            if (SculkCorruptionManager.isCorruption(state)) {
+                // Already corrupted - walk through it to reach the boundary
+                expand(packed);
+            } else if (SculkCorruptionManager.tryCorruptBlock(view, profile, pos, random, batch)) {
+                grown++;
+                expand(packed);
+            }
+            // Anything else can never take corruption and is dropped for good
+        }
+        return grown;
+    }
+
+    /**
+     * Add the unvisited in-range neighbours of a position to the frontier
+     */
+    private void expand(long packed) {
+        int originX = BlockPos.unpackLongX(origin);
+        int originY = BlockPos.unpackLongY(origin);
+        int originZ = BlockPos.unpackLongZ(origin);
+
+        for (Direction direction : DIRECTIONS) {
+            long neighbour = BlockPos.offset(packed, direction);
+
+            if (Math.abs(BlockPos.unpackLongX(neighbour) - originX) > RANGE
+                    || Math.abs(BlockPos.unpackLongY(neighbour) - originY) > RANGE
+                    || Math.abs(BlockPos.unpackLongZ(neighbour) - originZ) > RANGE) {
+                continue;
+            }
+
+            if (visited.add(neighbour)) {
+                frontier.add(neighbour);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package de.tecca.enderborne.corruption;
+
+import net.minecraft.block.Blocks;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Per-chunk index of sculk catalyst positions placed by the corruption
+ * Kept in each chunk's ChunkCorruptionState so spreading never has to scan blocks
+ * Entries are validated lazily when picked, so catalysts removed by explosions,
+ * pistons or commands are dropped the next time their chunk is sampled
+ * Only active catalysts are picked; dormant ones wait for a nearby block change
+ */
+public final class CatalystIndex {
+
+    private CatalystIndex() {
+    }
+
+    /**
+     * Record a catalyst at the given position
+     */
+    public static void add(ServerWorld world, BlockPos pos) {
+        WorldChunk chunk = getLoadedChunk(world, pos);
+        if (chunk != null) {
+            add(chunk, pos);
+        }
+    }
+
+    /**
+     * Record a catalyst in the given chunk, which may still be generating
+     */
+    public static void add(Chunk chunk, BlockPos pos) {
+        if (ChunkCorruptionState.get(chunk).addCatalyst(pos.asLong())) {
+            chunk.markNeedsSaving();
+        }
+    }
+
+    /**
+     * Forget a catalyst at the given position (broken or replaced)
+     */
+    public static void remove(ServerWorld world, BlockPos pos) {
+        WorldChunk chunk = getLoadedChunk(world, pos);
+        if (chunk == null) {
+            return;
+        }
+
+        ChunkCorruptionState state = ChunkCorruptionState.getIfPresent(chunk);
+        if (state != null && state.removeCatalyst(pos.asLong())) {
+            chunk.markNeedsSaving();
+        }
+    }
+
+    /**
+     * Stop picking a catalyst whose frontier has nothing left to corrupt
+     */
+    public static void markDormant(ServerWorld world, BlockPos pos) {
+        WorldChunk chunk = getLoadedChunk(world, pos);
+        if (chunk == null) {
+            return;
+        }
+
+        ChunkCorruptionState state = ChunkCorruptionState.getIfPresent(chunk);
+        if (state != null && state.markDormant(pos.asLong())) {
+            chunk.markNeedsSaving();
+        }
+    }
+
+    /**
+     * A block changed - let catalysts in range grow back into it
+     * Catalysts may sit in a neighbouring chunk, so every loaded chunk the
+     * range overlaps is checked
+     */
+    public static void wakeNear(ServerWorld world, BlockPos pos) {
+        int range = CatalystFrontier.RANGE;
+
+        for (int chunkX = (pos.getX() - range) >> 4; chunkX <= (pos.getX() + range) >> 4; chunkX++) {
+            for (int chunkZ = (pos.getZ() - range) >> 4; chunkZ <= (pos.getZ() + range) >> 4; chunkZ++) {
+                WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkX, chunkZ);
+                if (chunk == null) {
+                    continue;
+                }
+
+                ChunkCorruptionState state = ChunkCorruptionState.getIfPresent(chunk);
+                if (state != null && state.wakeNear(pos.getX(), pos.getY(), pos.getZ(), range)) {
+                    chunk.markNeedsSaving();
+                }
+            }
+        }
+    }
+
+    /**
+     * Pick a random active catalyst from a chunk's state, or null if it has none
+     * Stale entries found along the way are removed from the state; callers
+     * must mark the chunk for saving if the catalyst count changed
+     */
+    public static BlockPos pickRandom(CorruptionView view, ChunkCorruptionState state, Random random) {
+        while (state.getCatalystCount() > 0) {
+            int index = random.nextInt(state.getCatalystCount());
+            BlockPos pos = BlockPos.fromLong(state.getCatalyst(index));
+
+            if (view.getBlockState(pos).isOf(Blocks.SCULK_CATALYST)) {
+                return pos;
+            }
+
+            // Catalyst was removed without us noticing - drop it and try another
+            state.removeCatalystAt(index);
+        }
+        return null;
+    }
+
+    private static WorldChunk getLoadedChunk(ServerWorld world, BlockPos pos) {
+        return world.getChunkManager().getWorldChunk(pos.getX() >> 4, pos.getZ() >> 4);
+    }
+}
@@ -0,0 +1,356 @@
+package de.tecca.enderborne.corruption;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import de.tecca.enderborne.Enderborne;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * Persistent corruption bookkeeping for one chunk, stored as a chunk attachment
+ * Holds whether the chunk was already processed, its corruption level, the
+ * catalysts placed in it and a per-section bitset of every block the mod placed,
+ * with a second bitset marking which of those went into air
+ * Catalysts are split into active ones that still spread and dormant ones whose
+ * frontier ran out; the frontiers themselves are transient and never saved
+ * Chunks reverted by the cleansing wave are flagged and never corrupted again
+ * Mutated in place - callers that change it must mark the chunk for saving
+ */
+public class ChunkCorruptionState {
+
+    private static final Codec<long[]> LONG_ARRAY = Codec.LONG_STREAM.xmap(LongStream::toArray, Arrays::stream);
+
+    private static final Codec<PlacedSection> PLACED_SECTION_CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            Codec.INT.fieldOf("y").forGetter(PlacedSection::sectionY),
+            LONG_ARRAY.fieldOf("bits").forGetter(PlacedSection::bits)
+    ).apply(instance, PlacedSection::new));
+
+    public static final Codec<ChunkCorruptionState> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            Codec.BOOL.optionalFieldOf("processed", false).forGetter(state -> state.processed),
+            Codec.INT.optionalFieldOf("level", 0).forGetter(state -> state.level),
+            LONG_ARRAY.optionalFieldOf("catalysts", new long[0]).forGetter(state -> state.catalysts.toLongArray()),
+            LONG_ARRAY.optionalFieldOf("dormant_catalysts", new long[0]).forGetter(state -> state.dormantCatalysts.toLongArray()),
+            Codec.LONG.optionalFieldOf("last_spread_tick", 0L).forGetter(state -> state.lastSpreadTick),
+            PLACED_SECTION_CODEC.listOf().optionalFieldOf("placed", List.of()).forGetter(state -> encode(state.placed)),
+            Codec.BOOL.optionalFieldOf("cleansed", false).forGetter(state -> state.cleansed),
+            PLACED_SECTION_CODEC.listOf().optionalFieldOf("replaced_air", List.of()).forGetter(state -> encode(state.replacedAir))
+    ).apply(instance, ChunkCorruptionState::new));
+
+    private boolean processed;
+    private boolean cleansed;
+    private int level;
+    private long lastSpreadTick;
+    private final LongArrayList catalysts;
+    private final LongArrayList dormantCatalysts;
+
+    // Growth frontiers of active catalysts, rebuilt on demand after a reload
+    private final Long2ObjectMap<CatalystFrontier> frontiers = new Long2ObjectOpenHashMap<>();
+
+    // 4096-bit sets keyed by section Y, only for sections the mod touched
+    private final Int2ObjectMap<BitSet> placed = new Int2ObjectOpenHashMap<>();
+
+    // Placed blocks that replaced air rather than terrain, same layout as placed
+    // Blocks placed before this was tracked have no bit and count as terrain
+    private final Int2ObjectMap<BitSet> replacedAir = new Int2ObjectOpenHashMap<>();
+
+    public ChunkCorruptionState() {
+        this(false, 0, new long[0], new long[0], 0L, List.of(), false, List.of());
+    }
+
+    private ChunkCorruptionState(boolean processed, int level, long[] catalysts, long[] dormantCatalysts,
+                                 long lastSpreadTick, List<PlacedSection> placedSections, boolean cleansed,
+                                 List<PlacedSection> replacedAirSections) {
+        this.processed = processed;
+        this.cleansed = cleansed;
+        this.level = level;
+        this.catalysts = new LongArrayList(catalysts);
+        this.dormantCatalysts = new LongArrayList(dormantCatalysts);
+        this.lastSpreadTick = lastSpreadTick;
+
+        for (PlacedSection section : placedSections) {
+            placed.put(section.sectionY(), BitSet.valueOf(section.bits()));
+        }
+        for (PlacedSection section : replacedAirSections) {
+            replacedAir.put(section.sectionY(), BitSet.valueOf(section.bits()));
+        }
+    }
+
+    /**
+     * Get the state of a chunk, creating an empty one if needed
+     */
+    public static ChunkCorruptionState get(Chunk chunk) {
+        return chunk.getAttachedOrCreate(Enderborne.CHUNK_CORRUPTION);
+    }
+
+    /**
+     * Get the state of a chunk without creating one
+     */
+    public static ChunkCorruptionState getIfPresent(Chunk chunk) {
+        return chunk.getAttached(Enderborne.CHUNK_CORRUPTION);
+    }
+
+    /**
+     * Whether the chunk has already been through runtime or worldgen corruption
+     */
+    public boolean isProcessed() {
+        return processed;
+    }
+
+    public void markProcessed() {
+        processed = true;
+    }
+
+    /**
+     * Whether the cleansing wave has already reverted this chunk
+     */
+    public boolean isCleansed() {
+        return cleansed;
+    }
+
+    /**
+     * Flag the chunk as cleansed - it counts as processed and keeps no catalysts
+     */
+    public void markCleansed() {
+        cleansed = true;
+        processed = true;
+        catalysts.clear();
+        dormantCatalysts.clear();
+        frontiers.clear();
+    }
+
+    /**
+     * Corruption level of the chunk - the number of blocks the mod placed in it
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Game time of the last natural spread step in this chunk, 0 if never
+     * Used to catch up on steps missed while no player was near
+     */
+    public long getLastSpreadTick() {
+        return lastSpreadTick;
+    }
+
+    public void setLastSpreadTick(long lastSpreadTick) {
+        this.lastSpreadTick = lastSpreadTick;
+    }
+
+    // Catalysts
+
+    public int getCatalystCount() {
+        return catalysts.size();
+    }
+
+    public long getCatalyst(int index) {
+        return catalysts.getLong(index);
+    }
+
+    public boolean addCatalyst(long packedPos) {
+        if (catalysts.contains(packedPos) || dormantCatalysts.contains(packedPos)) {
+            return false;
+        }
+        catalysts.add(packedPos);
+        return true;
+    }
+
+    /**
+     * Forget an active or dormant catalyst
+     */
+    public boolean removeCatalyst(long packedPos) {
+        frontiers.remove(packedPos);
+
+        int index = catalysts.indexOf(packedPos);
+        if (index >= 0) {
+            removeCatalystAt(index);
+            return true;
+        }
+
+        index = dormantCatalysts.indexOf(packedPos);
+        if (index >= 0) {
+            swapRemove(dormantCatalysts, index);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Swap-remove an active catalyst by index
+     */
+    public void removeCatalystAt(int index) {
+        frontiers.remove(catalysts.getLong(index));
+        swapRemove(catalysts, index);
+    }
+
+    public int getDormantCatalystCount() {
+        return dormantCatalysts.size();
+    }
+
+    /**
+     * Move an active catalyst to the dormant list so it is no longer picked
+     */
+    public boolean markDormant(long packedPos) {
+        int index = catalysts.indexOf(packedPos);
+        if (index < 0) {
+            return false;
+        }
+
+        removeCatalystAt(index);
+        dormantCatalysts.add(packedPos);
+        return true;
+    }
+
+    /**
+     * Reactivate dormant catalysts and reset frontiers of active ones within
+     * range of a changed block, so they can grow back into it
+     * Returns whether any dormant catalyst woke up
+     */
+    public boolean wakeNear(int x, int y, int z, int range) {
+        frontiers.long2ObjectEntrySet().removeIf(entry -> isWithin(entry.getLongKey(), x, y, z, range));
+
+        boolean woke = false;
+        for (int i = dormantCatalysts.size() - 1; i >= 0; i--) {
+            long packedPos = dormantCatalysts.getLong(i);
+            if (isWithin(packedPos, x, y, z, range)) {
+                swapRemove(dormantCatalysts, i);
+                catalysts.add(packedPos);
+                woke = true;
+            }
+        }
+        return woke;
+    }
+
+    /**
+     * Get the growth frontier of an active catalyst, building it if needed
+     */
+    CatalystFrontier getFrontier(long packedPos) {
+        return frontiers.computeIfAbsent(packedPos, CatalystFrontier::new);
+    }
+
+    private static boolean isWithin(long packedPos, int x, int y, int z, int range) {
+        return Math.abs(BlockPos.unpackLongX(packedPos) - x) <= range
+                && Math.abs(BlockPos.unpackLongY(packedPos) - y) <= range
+                && Math.abs(BlockPos.unpackLongZ(packedPos) - z) <= range;
+    }
+
+    private static void swapRemove(LongArrayList list, int index) {
+        long last = list.removeLong(list.size() - 1);
+        if (index < list.size()) {
+            list.set(index, last);
+        }
+    }
+
+    // Placed blocks
+
+    /**
+     * Record that the mod placed a block at the given world position
+     * A block that replaces earlier corruption keeps what was there first
+     *
+     * @param replacedAir whether the block went into air, which cleansing restores
+     */
+    public void markPlaced(int x, int y, int z, boolean replacedAir) {
+        BitSet bits = placed.computeIfAbsent(y >> 4, sectionY -> new BitSet(4096));
+        int index = localIndex(x, y, z);
+        if (!bits.get(index)) {
+            bits.set(index);
+            level++;
+            if (replacedAir) {
+                this.replacedAir.computeIfAbsent(y >> 4, sectionY -> new BitSet(4096)).set(index);
+            }
+        }
+    }
+
+    /**
+     * Forget a placed block, e.g. after it was broken or reverted
+     */
+    public void clearPlaced(int x, int y, int z) {
+        BitSet bits = placed.get(y >> 4);
+        if (bits == null) {
+            return;
+        }
+
+        int index = localIndex(x, y, z);
+        if (bits.get(index)) {
+            bits.clear(index);
+            level--;
+            if (bits.isEmpty()) {
+                placed.remove(y >> 4);
+            }
+
+            BitSet air = replacedAir.get(y >> 4);
+            if (air != null) {
+                air.clear(index);
+                if (air.isEmpty()) {
+                    replacedAir.remove(y >> 4);
+                }
+            }
+        }
+    }
+
+    public boolean isPlaced(int x, int y, int z) {
+        BitSet bits = placed.get(y >> 4);
+        return bits != null && bits.get(localIndex(x, y, z));
+    }
+
+    /**
+     * Whether a placed block went into air rather than replacing terrain
+     */
+    public boolean isReplacedAir(int x, int y, int z) {
+        BitSet bits = replacedAir.get(y >> 4);
+        return bits != null && bits.get(localIndex(x, y, z));
+    }
+
+    /**
+     * Visit the packed world position of every placed block in the given chunk
+     */
+    public void forEachPlaced(int chunkX, int chunkZ, LongConsumer consumer) {
+        for (Int2ObjectMap.Entry<BitSet> entry : placed.int2ObjectEntrySet()) {
+            int baseY = entry.getIntKey() << 4;
+            BitSet bits = entry.getValue();
+
+            for (int index = bits.nextSetBit(0); index >= 0; index = bits.nextSetBit(index + 1)) {
+                consumer.accept(BlockPos.asLong(
+                        (chunkX << 4) | (index & 15),
+                        baseY | (index >> 8),
+                        (chunkZ << 4) | ((index >> 4) & 15)));
+            }
+        }
+    }
+
+    /**
+     * Forget every placed block and reset the level
+     */
+    public void clearAllPlaced() {
+        placed.clear();
+        replacedAir.clear();
+        level = 0;
+    }
+
+    private static int localIndex(int x, int y, int z) {
+        return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    private static List<PlacedSection> encode(Int2ObjectMap<BitSet> bitsets) {
+        List<PlacedSection> sections = new ArrayList<>(bitsets.size());
+        for (Int2ObjectMap.Entry<BitSet> entry : bitsets.int2ObjectEntrySet()) {
+            sections.add(new PlacedSection(entry.getIntKey(), entry.getValue().toLongArray()));
+        }
+        return sections;
+    }
+
+    private record PlacedSection(int sectionY, long[] bits) {
+    }
+}
@@ -0,0 +1,210 @@
+package de.tecca.enderborne.corruption;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.border.WorldBorder;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Immutable copy of one chunk's block palettes and surface heights
+ * Taken on the server thread and safe to read from any thread afterwards,
+ * or built from decoded region data by offline tools
+ * Writes are only allowed inside the snapshotted chunk, so plans stay chunk-local
+ */
+public class ChunkSnapshot implements CorruptionView {
+
+    private static final BlockState AIR = Blocks.AIR.getDefaultState();
+
+    private final ChunkPos pos;
+    private final int bottomY;
+    private final int bottomSectionCoord;
+
+    // Copied block state containers, null for sections that were all air
+    private final PalettedContainer<BlockState>[] sections;
+
+    // WORLD_SURFACE heights indexed by (z << 4) | x
+    private final int[] surface;
+
+    // World border bounds at snapshot time
+    private final double borderWest;
+    private final double borderEast;
+    private final double borderNorth;
+    private final double borderSouth;
+
+    private ChunkSnapshot(ChunkPos pos, int bottomY, PalettedContainer<BlockState>[] sections, int[] surface,
+                          double borderWest, double borderEast, double borderNorth, double borderSouth) {
+        this.pos = pos;
+        this.bottomY = bottomY;
+        this.bottomSectionCoord = bottomY >> 4;
+        this.sections = sections;
+        this.surface = surface;
+        this.borderWest = borderWest;
+        this.borderEast = borderEast;
+        this.borderNorth = borderNorth;
+        this.borderSouth = borderSouth;
+    }
+
+    /**
+     * Copy a loaded chunk - must be called on the server thread
+     */
+    @SuppressWarnings("unchecked")
+    public static ChunkSnapshot of(WorldChunk chunk) {
+        ChunkSection[] chunkSections = chunk.getSectionArray();
+        PalettedContainer<BlockState>[] sections = new PalettedContainer[chunkSections.length];
+        for (int i = 0; i < chunkSections.length; i++) {
+            ChunkSection section = chunkSections[i];
+            if (section != null && !section.isEmpty()) {
+                sections[i] = section.getBlockStateContainer().copy();
+            }
+        }
+
+        int[] surface = new int[256];
+        Heightmap heightmap = chunk.getHeightmap(Heightmap.Type.WORLD_SURFACE);
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                surface[(z << 4) | x] = heightmap.get(x, z);
+            }
+        }
+
+        WorldBorder border = chunk.getWorld().getWorldBorder();
+        return new ChunkSnapshot(chunk.getPos(), chunk.getBottomY(), sections, surface,
+                border.getBoundWest(), border.getBoundEast(), border.getBoundNorth(), border.getBoundSouth());
+    }
+
+    /**
+     * Wrap detached section containers, e.g. decoded from a region file
+     * Takes ownership of both arrays; the surface is derived from the blocks
+     * and the world border is ignored
+     *
+     * @param sections containers from the bottom section up, null for all-air sections
+     */
+    public static ChunkSnapshot of(ChunkPos pos, int bottomY, PalettedContainer<BlockState>[] sections) {
+        int[] surface = new int[256];
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                surface[(z << 4) | x] = findSurfaceY(sections, bottomY, x, z);
+            }
+        }
+
+        return new ChunkSnapshot(pos, bottomY, sections, surface,
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * First free y above the highest non-air block of a column, like WORLD_SURFACE
+     */
+    private static int findSurfaceY(PalettedContainer<BlockState>[] sections, int bottomY, int x, int z) {
+        for (int index = sections.length - 1; index >= 0; index--) {
+            PalettedContainer<BlockState> container = sections[index];
+            if (container == null) {
+                continue;
+            }
+
+            for (int localY = 15; localY >= 0; localY--) {
+                if (!container.get(x, localY, z).isAir()) {
+                    return bottomY + (index << 4) + localY + 1;
+                }
+            }
+        }
+        return bottomY;
+    }
+
+    public ChunkPos getPos() {
+        return pos;
+    }
+
+    @Override
+    public BlockState getBlockState(int x, int y, int z) {
+        if ((x >> 4) != pos.x || (z >> 4) != pos.z) {
+            return AIR; // Outside the snapshot - never written to, see canWrite
+        }
+
+        int index = (y >> 4) - bottomSectionCoord;
+        if (index < 0 || index >= sections.length || sections[index] == null) {
+            return AIR;
+        }
+        return sections[index].get(x & 15, y & 15, z & 15);
+    }
+
+    @Override
+    public int getSurfaceY(int x, int z) {
+        if ((x >> 4) != pos.x || (z >> 4) != pos.z) {
+            return bottomY;
+        }
+        return surface[((z & 15) << 4) | (x & 15)];
+    }
+
+    /**
+     * Walks the copied sections top-down and skips those that are empty or
+     * whose palette holds no corruptible state
+     */
+    @Override
+    public int findCorruptibleY(int x, int z, CorruptionProfile profile) {
+        int topY = getSurfaceY(x, z);
+
+        for (int index = Math.min((topY >> 4) - bottomSectionCoord, sections.length - 1); index >= 0; index--) {
+            PalettedContainer<BlockState> container = sections[index];
+            if (container == null) {
+                continue; // All air
+            }
+
+            int sectionBottom = (index + bottomSectionCoord) << 4;
+            int fromY = Math.min(topY, sectionBottom + 15);
+            int toY = Math.max(bottomY + 1, sectionBottom);
+
+            int y = CorruptionView.findCorruptibleY(container, x, z, fromY, toY, profile);
+            if (y != -1) {
+                return y;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int countCappedBlockEntities(int chunkX, int sectionY, int chunkZ) {
+        int index = sectionY - bottomSectionCoord;
+        if (chunkX != pos.x || chunkZ != pos.z || index < 0 || index >= sections.length || sections[index] == null) {
+            return 0;
+        }
+        return BlockEntityCaps.count(sections[index]);
+    }
+
+    @Override
+    public int countCappedBlockEntities(int chunkX, int chunkZ) {
+        if (chunkX != pos.x || chunkZ != pos.z) {
+            return 0;
+        }
+
+        int total = 0;
+        for (PalettedContainer<BlockState> container : sections) {
+            if (container != null) {
+                total += BlockEntityCaps.count(container);
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int getBottomY() {
+        return bottomY;
+    }
+
+    @Override
+    public boolean canWrite(int x, int y, int z) {
+        if ((x >> 4) != pos.x || (z >> 4) != pos.z) {
+            return false;
+        }
+
+        int index = (y >> 4) - bottomSectionCoord;
+        if (index < 0 || index >= sections.length) {
+            return false;
+        }
+
+        return x >= borderWest && x + 1 <= borderEast && z >= borderNorth && z + 1 <= borderSouth;
+    }
+}
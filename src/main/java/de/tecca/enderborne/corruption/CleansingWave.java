@@ -0,0 +1,253 @@
+package de.tecca.enderborne.corruption;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import de.tecca.enderborne.Enderborne;
+import de.tecca.enderborne.config.EnderborneConfig;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.PersistentState;
+import net.minecraft.world.PersistentStateType;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Reverts corruption ring by ring of chunks outwards from the main island
+ * Started when the dragon dies and saved with the world, so it resumes after
+ * a restart where it stopped
+ * The wave front only cleanses chunks that are loaded as it passes them;
+ * chunks behind the front are queued when they load and cleansed later
+ * Work per tick is capped by the cleansing time budget
+ */
+public class CleansingWave extends PersistentState {
+
+    public static final Codec<CleansingWave> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            Codec.BOOL.optionalFieldOf("active", false).forGetter(wave -> wave.active),
+            Codec.INT.optionalFieldOf("ring", 0).forGetter(wave -> wave.ring),
+            Codec.INT.optionalFieldOf("cursor", 0).forGetter(wave -> wave.cursor),
+            Codec.LONG.optionalFieldOf("ring_started_tick", 0L).forGetter(wave -> wave.ringStartedTick),
+            Codec.LONG.optionalFieldOf("cleansed_chunks", 0L).forGetter(wave -> wave.cleansedChunks)
+    ).apply(instance, CleansingWave::new));
+
+    private static final PersistentStateType<CleansingWave> TYPE = new PersistentStateType<>(
+            Enderborne.MOD_ID + "_cleansing_wave", CleansingWave::new, CODEC, null);
+
+    private static final BlockState AIR = Blocks.AIR.getDefaultState();
+
+    private boolean active;
+
+    // Current ring (Chebyshev distance in chunks from 0,0) and position along it
+    private int ring;
+    private int cursor;
+    private long ringStartedTick;
+    private long cleansedChunks;
+
+    // Loaded chunks behind the wave front that still need cleansing, never saved
+    private final LongLinkedOpenHashSet pending = new LongLinkedOpenHashSet();
+
+    public CleansingWave() {
+        this(false, 0, 0, 0L, 0L);
+    }
+
+    private CleansingWave(boolean active, int ring, int cursor, long ringStartedTick, long cleansedChunks) {
+        this.active = active;
+        this.ring = ring;
+        this.cursor = cursor;
+        this.ringStartedTick = ringStartedTick;
+        this.cleansedChunks = cleansedChunks;
+    }
+
+    /**
+     * Hook the wave into chunk loading and server ticks
+     */
+    public static void register() {
+        ServerChunkEvents.CHUNK_LOAD.register(CleansingWave::onChunkLoad);
+        ServerTickEvents.END_SERVER_TICK.register(CleansingWave::onServerTick);
+    }
+
+    /**
+     * Start the wave in a world, unless it already started there
+     */
+    public static void start(ServerWorld world) {
+        CleansingWave wave = world.getPersistentStateManager().getOrCreate(TYPE);
+        if (wave.active || wave.ring > 0) {
+            return; // Already running or finished
+        }
+
+        wave.active = true;
+        wave.ringStartedTick = world.getTime();
+        wave.markDirty();
+        Enderborne.LOGGER.info("Cleansing wave started in {}", world.getRegistryKey().getValue());
+    }
+
+    private static CleansingWave getIfPresent(ServerWorld world) {
+        return world.getPersistentStateManager().get(TYPE);
+    }
+
+    private static void onChunkLoad(ServerWorld world, WorldChunk chunk) {
+        CleansingWave wave = getIfPresent(world);
+        if (wave == null || wave.ring == 0 && !wave.active) {
+            return; // Never started here
+        }
+
+        ChunkPos pos = chunk.getPos();
+        if (getRing(pos.x, pos.z) > wave.ring) {
+            return; // The front has not reached this chunk yet
+        }
+
+        ChunkCorruptionState state = ChunkCorruptionState.get(chunk);
+        if (state.isCleansed()) {
+            return;
+        }
+
+        // Keep the scheduler from corrupting it before its turn comes
+        state.markProcessed();
+        chunk.markNeedsSaving();
+        wave.pending.add(pos.toLong());
+    }
+
+    private static void onServerTick(MinecraftServer server) {
+        EnderborneConfig config = Enderborne.getConfig();
+        long budgetNanos = config.getCleansingTickBudgetMicros() * 1000L;
+        if (budgetNanos <= 0) {
+            return;
+        }
+
+        for (ServerWorld world : server.getWorlds()) {
+            CleansingWave wave = getIfPresent(world);
+            if (wave != null) {
+                wave.tick(world, config, System.nanoTime() + budgetNanos);
+            }
+        }
+    }
+
+    private void tick(ServerWorld world, EnderborneConfig config, long deadline) {
+        CorruptionProfile profile = CorruptionProfiles.get(world.getRegistryKey());
+
+        // Chunks that loaded behind the front go first
+        while (!pending.isEmpty() && System.nanoTime() < deadline) {
+            long chunkPos = pending.removeFirstLong();
+            WorldChunk chunk = world.getChunkManager().getWorldChunk(
+                    ChunkPos.getPackedX(chunkPos), ChunkPos.getPackedZ(chunkPos));
+            if (chunk != null) {
+                cleanse(world, chunk, profile);
+            }
+        }
+
+        if (!active || world.getTime() - ringStartedTick < config.getCleansingTicksPerRing()) {
+            return;
+        }
+
+        int perimeter = getPerimeter(ring);
+        while (cursor < perimeter && System.nanoTime() < deadline) {
+            int chunkX = getRingX(ring, cursor);
+            int chunkZ = getRingZ(ring, cursor);
+            cursor++;
+
+            // Unloaded chunks are cleansed when they next load
+            WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkX, chunkZ);
+            if (chunk != null) {
+                cleanse(world, chunk, profile);
+            }
+        }
+
+        if (cursor >= perimeter) {
+            if (ring >= config.getCleansingMaxRadiusChunks()) {
+                active = false;
+                Enderborne.LOGGER.info("Cleansing wave in {} finished after {} chunks",
+                        world.getRegistryKey().getValue(), cleansedChunks);
+            } else {
+                ring++;
+                cursor = 0;
+                ringStartedTick = world.getTime();
+            }
+        }
+        markDirty();
+    }
+
+    /**
+     * Revert every block the corruption placed in a chunk and flag it cleansed
+     * Blocks that went into air become air again, the rest become the base block
+     * Blocks players replaced since are left alone
+     */
+    private void cleanse(ServerWorld world, WorldChunk chunk, CorruptionProfile profile) {
+        ChunkCorruptionState state = ChunkCorruptionState.get(chunk);
+        if (state.isCleansed()) {
+            return;
+        }
+
+        BlockState base = profile != null ? profile.getBaseBlock().getDefaultState() : AIR;
+        CorruptionBatch batch = new CorruptionBatch();
+        BlockPos.Mutable mutable = new BlockPos.Mutable();
+
+        state.forEachPlaced(chunk.getPos().x, chunk.getPos().z, pos -> {
+            mutable.set(pos);
+            BlockState current = chunk.getBlockState(mutable);
+            if (SculkCorruptionManager.isCorruption(current)) {
+                boolean replacedAir = state.isReplacedAir(mutable.getX(), mutable.getY(), mutable.getZ());
+                batch.set(mutable, current, getRevertedState(current, replacedAir ? AIR : base));
+            }
+        });
+        batch.apply(world);
+
+        // Drops the placed bits apply just recorded for the reverted blocks as well
+        state.clearAllPlaced();
+        state.markCleansed();
+        chunk.markNeedsSaving();
+        cleansedChunks++;
+    }
+
+    private static BlockState getRevertedState(BlockState corruption, BlockState base) {
+        if (corruption.isOf(Blocks.SCULK_VEIN)) {
+            // Veins only ever coat other blocks - they leave the space they sat in
+            return corruption.getFluidState().isStill() ? Blocks.WATER.getDefaultState() : AIR;
+        }
+        return base;
+    }
+
+    // Ring geometry - ring r holds the 8r chunks at Chebyshev distance r, walked clockwise
+
+    static int getRing(int chunkX, int chunkZ) {
+        return Math.max(Math.abs(chunkX), Math.abs(chunkZ));
+    }
+
+    static int getPerimeter(int ring) {
+        return ring == 0 ? 1 : 8 * ring;
+    }
+
+    static int getRingX(int ring, int index) {
+        if (ring == 0) {
+            return 0;
+        }
+
+        int side = index / (2 * ring);
+        int offset = index % (2 * ring);
+        return switch (side) {
+            case 0 -> -ring + offset;
+            case 1 -> ring;
+            case 2 -> ring - offset;
+            default -> -ring;
+        };
+    }
+
+    static int getRingZ(int ring, int index) {
+        if (ring == 0) {
+            return 0;
+        }
+
+        int side = index / (2 * ring);
+        int offset = index % (2 * ring);
+        return switch (side) {
+            case 0 -> -ring;
+            case 1 -> -ring + offset;
+            case 2 -> ring;
+            default -> ring - offset;
+        };
+    }
+}
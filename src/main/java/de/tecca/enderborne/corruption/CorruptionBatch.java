@@ -0,0 +1,325 @@
+package de.tecca.enderborne.corruption;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockEntityProvider;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.network.packet.s2c.play.ChunkDeltaUpdateS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.StructureWorldAccess;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+import net.minecraft.world.chunk.light.ChunkLightProvider;
+import net.minecraft.world.chunk.light.LightingProvider;
+
+import java.util.List;
+
+/**
+ * Collects corruption block changes and writes them section by section
+ * Each touched ChunkSection is locked and written once, followed by a single
+ * ChunkDeltaUpdateS2CPacket for its watchers, instead of one setBlockState
+ * (with its own neighbour updates, lighting and packet) per block
+ * Every change remembers the state it was planned against; positions that
+ * changed in the meantime are rejected when the batch is applied
+ * Also tracks how many capped block-entity blocks each touched section and
+ * chunk holds, so a plan never exceeds its BlockEntityCaps
+ * Changes applied to a live world are recorded in the CorruptionJournal
+ */
+public class CorruptionBatch {
+
+    private static final Heightmap.Type[] TRACKED_HEIGHTMAPS = {
+            Heightmap.Type.MOTION_BLOCKING,
+            Heightmap.Type.MOTION_BLOCKING_NO_LEAVES,
+            Heightmap.Type.OCEAN_FLOOR,
+            Heightmap.Type.WORLD_SURFACE
+    };
+
+    // Pending changes keyed by packed block position
+    private final Long2ObjectOpenHashMap<BlockState> changes = new Long2ObjectOpenHashMap<>();
+
+    // State each position had when its first change was planned
+    private final Long2ObjectOpenHashMap<BlockState> expected = new Long2ObjectOpenHashMap<>();
+
+    private final BlockEntityCaps caps;
+
+    // Capped block entities per section / chunk, existing plus planned; -1 until counted
+    private final Long2IntOpenHashMap sectionBlockEntities = new Long2IntOpenHashMap();
+    private final Long2IntOpenHashMap chunkBlockEntities = new Long2IntOpenHashMap();
+
+    public CorruptionBatch() {
+        this(BlockEntityCaps.UNLIMITED);
+    }
+
+    public CorruptionBatch(BlockEntityCaps caps) {
+        this.caps = caps;
+        sectionBlockEntities.defaultReturnValue(-1);
+        chunkBlockEntities.defaultReturnValue(-1);
+    }
+
+    /**
+     * Queue a block change planned against the given current state
+     * Replaces any earlier change at the same position but keeps its expected state
+     */
+    public void set(BlockPos pos, BlockState expectedState, BlockState state) {
+        long key = pos.asLong();
+        expected.putIfAbsent(key, expectedState);
+        changes.put(key, state);
+    }
+
+    /**
+     * Reserve room for a new capped block-entity block at the given position
+     * Existing ones are counted from the view the first time a section or chunk
+     * is touched
+     *
+     * @return false if the section or chunk is already at its cap
+     */
+    public boolean tryReserveBlockEntity(CorruptionView view, BlockPos pos) {
+        if (caps.isUnlimited()) {
+            return true;
+        }
+
+        int chunkX = pos.getX() >> 4;
+        int sectionY = pos.getY() >> 4;
+        int chunkZ = pos.getZ() >> 4;
+
+        long sectionKey = ChunkSectionPos.asLong(chunkX, sectionY, chunkZ);
+        int inSection = sectionBlockEntities.get(sectionKey);
+        if (inSection == -1) {
+            inSection = view.countCappedBlockEntities(chunkX, sectionY, chunkZ);
+            sectionBlockEntities.put(sectionKey, inSection);
+        }
+
+        long chunkKey = ChunkPos.toLong(chunkX, chunkZ);
+        int inChunk = chunkBlockEntities.get(chunkKey);
+        if (inChunk == -1) {
+            inChunk = view.countCappedBlockEntities(chunkX, chunkZ);
+            chunkBlockEntities.put(chunkKey, inChunk);
+        }
+
+        if (inSection >= caps.perSection() || inChunk >= caps.perChunk()) {
+            return false;
+        }
+
+        sectionBlockEntities.put(sectionKey, inSection + 1);
+        chunkBlockEntities.put(chunkKey, inChunk + 1);
+        return true;
+    }
+
+    /**
+     * Read a block state as it will be once this batch is applied
+     */
+    public BlockState getBlockState(CorruptionView view, BlockPos pos) {
+        BlockState pending = changes.get(pos.asLong());
+        return pending != null ? pending : view.getBlockState(pos);
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Visit every queued change without applying it
+     * Used by offline tools that write chunk data without a world
+     */
+    public void forEachChange(ChangeVisitor visitor) {
+        for (Long2ObjectMap.Entry<BlockState> entry : changes.long2ObjectEntrySet()) {
+            visitor.visit(entry.getLongKey(), entry.getValue());
+        }
+    }
+
+    public int size() {
+        return changes.size();
+    }
+
+    /**
+     * Place all queued changes into a generating region and clear the batch
+     * Used by world generation, where the chunk region handles block entities itself
+     */
+    public void place(StructureWorldAccess world) {
+        BlockPos.Mutable mutable = new BlockPos.Mutable();
+
+        for (Long2ObjectMap.Entry<BlockState> entry : changes.long2ObjectEntrySet()) {
+            mutable.set(entry.getLongKey());
+            BlockState state = entry.getValue();
+
+            boolean replacedAir = world.getBlockState(mutable).isAir();
+            if (world.setBlockState(mutable, state, Block.NOTIFY_LISTENERS)) {
+                recordPlaced(ChunkCorruptionState.get(world.getChunk(mutable)), mutable, state, replacedAir);
+            }
+        }
+
+        clear();
+    }
+
+    /**
+     * Write all queued changes to the world and clear the batch
+     * Changes in chunks that are no longer loaded, or whose block no longer
+     * matches the state they were planned against, are dropped
+     *
+     * @return the number of blocks that actually changed
+     */
+    public int apply(ServerWorld world) {
+        if (changes.isEmpty()) {
+            return 0;
+        }
+
+        // Group changed positions by the section they fall into
+        Long2ObjectOpenHashMap<LongArrayList> bySection = new Long2ObjectOpenHashMap<>();
+        for (Long2ObjectMap.Entry<BlockState> entry : changes.long2ObjectEntrySet()) {
+            long pos = entry.getLongKey();
+            long sectionKey = ChunkSectionPos.asLong(
+                    ChunkSectionPos.getSectionCoord(BlockPos.unpackLongX(pos)),
+                    ChunkSectionPos.getSectionCoord(BlockPos.unpackLongY(pos)),
+                    ChunkSectionPos.getSectionCoord(BlockPos.unpackLongZ(pos)));
+            bySection.computeIfAbsent(sectionKey, key -> new LongArrayList()).add(pos);
+        }
+
+        int changed = 0;
+        for (Long2ObjectMap.Entry<LongArrayList> entry : bySection.long2ObjectEntrySet()) {
+            changed += applySection(world, ChunkSectionPos.from(entry.getLongKey()), entry.getValue());
+        }
+
+        clear();
+        return changed;
+    }
+
+    /**
+     * Track a placed block (and catalyst) in the chunk's corruption state
+     */
+    private static void recordPlaced(ChunkCorruptionState corruptionState, BlockPos pos, BlockState state,
+                                     boolean replacedAir) {
+        corruptionState.markPlaced(pos.getX(), pos.getY(), pos.getZ(), replacedAir);
+
+        if (state.isOf(Blocks.SCULK_CATALYST)) {
+            corruptionState.addCatalyst(pos.asLong());
+        }
+    }
+
+    private void clear() {
+        changes.clear();
+        expected.clear();
+        sectionBlockEntities.clear();
+        chunkBlockEntities.clear();
+    }
+
+    /**
+     * Write the changes of a single section and notify lighting and clients once
+     */
+    private int applySection(ServerWorld world, ChunkSectionPos sectionPos, LongArrayList positions) {
+        WorldChunk chunk = world.getChunkManager().getWorldChunk(sectionPos.getSectionX(), sectionPos.getSectionZ());
+        if (chunk == null) {
+            return 0; // Unloaded since the changes were planned
+        }
+
+        int sectionIndex = chunk.sectionCoordToIndex(sectionPos.getSectionY());
+        if (sectionIndex < 0 || sectionIndex >= chunk.getSectionArray().length) {
+            return 0; // Outside the build limit
+        }
+
+        ChunkSection section = chunk.getSection(sectionIndex);
+        boolean wasEmpty = section.isEmpty();
+
+        long[] packed = positions.toLongArray();
+        BlockState[] oldStates = new BlockState[packed.length];
+        ShortSet changedLocal = new ShortOpenHashSet(packed.length);
+
+        // Write every block of this section under one lock
+        section.lock();
+        try {
+            for (int i = 0; i < packed.length; i++) {
+                long pos = packed[i];
+                int localX = BlockPos.unpackLongX(pos) & 15;
+                int localY = BlockPos.unpackLongY(pos) & 15;
+                int localZ = BlockPos.unpackLongZ(pos) & 15;
+
+                // Reject changes whose block was modified after planning
+                if (section.getBlockState(localX, localY, localZ) != expected.get(pos)) {
+                    continue;
+                }
+
+                oldStates[i] = section.setBlockState(localX, localY, localZ, changes.get(pos), false);
+            }
+        } finally {
+            section.unlock();
+        }
+
+        LightingProvider lighting = world.getChunkManager().getLightingProvider();
+        if (wasEmpty != section.isEmpty()) {
+            lighting.setSectionStatus(sectionPos, section.isEmpty());
+        }
+
+        ChunkCorruptionState corruptionState = ChunkCorruptionState.get(chunk);
+        BlockPos.Mutable mutable = new BlockPos.Mutable();
+        for (int i = 0; i < packed.length; i++) {
+            BlockState oldState = oldStates[i];
+            BlockState newState = changes.get(packed[i]);
+            if (oldState == null || oldState == newState) {
+                continue; // Rejected or unchanged
+            }
+
+            mutable.set(packed[i]);
+            changedLocal.add(ChunkSectionPos.packLocal(mutable));
+
+            int localX = mutable.getX() & 15;
+            int localZ = mutable.getZ() & 15;
+            for (Heightmap.Type type : TRACKED_HEIGHTMAPS) {
+                chunk.getHeightmap(type).trackUpdate(localX, mutable.getY(), localZ, newState);
+            }
+
+            if (oldState.hasBlockEntity() && !oldState.isOf(newState.getBlock())) {
+                chunk.removeBlockEntity(mutable);
+            }
+
+            if (newState.hasBlockEntity() && newState.getBlock() instanceof BlockEntityProvider provider) {
+                BlockEntity blockEntity = provider.createBlockEntity(mutable.toImmutable(), newState);
+                if (blockEntity != null) {
+                    chunk.addBlockEntity(blockEntity);
+                }
+            }
+
+            if (ChunkLightProvider.needsLightUpdate(oldState, newState)) {
+                lighting.checkBlock(mutable);
+            }
+
+            recordPlaced(corruptionState, mutable, newState, oldState.isAir());
+            CorruptionJournal.record(world, packed[i], oldState, newState);
+        }
+
+        if (changedLocal.isEmpty()) {
+            return 0;
+        }
+
+        chunk.markNeedsSaving();
+        RevisionedChunk.bump(chunk);
+
+        // One packet for the whole section
+        ChunkDeltaUpdateS2CPacket packet = new ChunkDeltaUpdateS2CPacket(sectionPos, changedLocal, section);
+        List<ServerPlayerEntity> watchers = world.getChunkManager().chunkLoadingManager
+                .getPlayersWatchingChunk(chunk.getPos(), false);
+        for (ServerPlayerEntity player : watchers) {
+            player.networkHandler.sendPacket(packet);
+        }
+
+        return changedLocal.size();
+    }
+
+    /**
+     * Receives a queued change as packed block position and new state
+     */
+    @FunctionalInterface
+    public interface ChangeVisitor {
+        void visit(long pos, BlockState state);
+    }
+}
@@ -0,0 +1,301 @@
+package de.tecca.enderborne.corruption;
+
+import de.tecca.enderborne.Enderborne;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+/**
+ * Counts the corruption blocks in loaded chunks
+ * The server thread only copies the palettes of sections that hold any
+ * corruption, spread over ticks within the census time budget; the counting
+ * itself runs on the planner pool from palette counts
+ * Results are cached per chunk against its block revision and reused until
+ * the chunk changes or unloads
+ */
+public class CorruptionCensus {
+
+    private static final int TOP_CHUNKS = 10;
+
+    private static final Predicate<BlockState> CORRUPTION = SculkCorruptionManager::isCorruption;
+
+    // Counts of loaded chunks by dimension, valid while the revision matches
+    private static final Map<RegistryKey<World>, Long2ObjectMap<ChunkCount>> cache = new HashMap<>();
+
+    // Census currently running, one at a time
+    private static CorruptionCensus active;
+
+    private final ServerCommandSource source;
+    private final Executor executor;
+    private final Queue<Target> targets;
+    private final int chunkTotal;
+    private final long startedNanos;
+
+    // Finished worker counts waiting to be merged on the server thread
+    private final Queue<Result> finished = new ConcurrentLinkedQueue<>();
+    private int inFlight;
+
+    private final Map<RegistryKey<World>, long[]> totals = new LinkedHashMap<>();
+    private final Map<RegistryKey<World>, Integer> corruptedChunks = new HashMap<>();
+    private final List<Result> hotChunks = new ArrayList<>();
+    private int cachedChunks;
+
+    private CorruptionCensus(ServerCommandSource source, Executor executor, Queue<Target> targets) {
+        this.source = source;
+        this.executor = executor;
+        this.targets = targets;
+        this.chunkTotal = targets.size();
+        this.startedNanos = System.nanoTime();
+    }
+
+    /**
+     * Keep the cache in step with chunk unloads and drive the running census
+     */
+    public static void register() {
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            Long2ObjectMap<ChunkCount> counts = cache.get(world.getRegistryKey());
+            if (counts != null) {
+                counts.remove(chunk.getPos().toLong());
+            }
+        });
+        ServerTickEvents.END_SERVER_TICK.register(CorruptionCensus::onServerTick);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            cache.clear();
+            active = null;
+        });
+    }
+
+    /**
+     * Start a census of the loaded chunks of the given worlds
+     *
+     * @param radius chunk radius around the source, or -1 for every loaded chunk
+     * @return false if the census could not start
+     */
+    public static boolean start(ServerCommandSource source, List<ServerWorld> worlds, int radius) {
+        CorruptionScheduler scheduler = Enderborne.getCorruptionScheduler();
+        if (active != null || scheduler == null || scheduler.getPlanner() == null) {
+            return false;
+        }
+
+        ChunkPos center = new ChunkPos(BlockPos.ofFloored(source.getPosition()));
+        Queue<Target> targets = new ArrayDeque<>();
+
+        for (ServerWorld world : worlds) {
+            LoadedChunkSampler loaded = scheduler.getLoadedChunks(world.getRegistryKey());
+            if (loaded == null) {
+                continue;
+            }
+
+            for (long chunkPos : loaded.toLongArray()) {
+                if (radius < 0 || Math.max(Math.abs(ChunkPos.getPackedX(chunkPos) - center.x),
+                        Math.abs(ChunkPos.getPackedZ(chunkPos) - center.z)) <= radius) {
+                    targets.add(new Target(world, chunkPos));
+                }
+            }
+        }
+
+        active = new CorruptionCensus(source, scheduler.getPlanner(), targets);
+        return true;
+    }
+
+    private static void onServerTick(MinecraftServer server) {
+        CorruptionCensus census = active;
+        if (census == null) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + Enderborne.getConfig().getCorruptionCensusTickBudgetMicros() * 1000L;
+        if (census.tick(deadline)) {
+            active = null;
+            census.report();
+        }
+    }
+
+    /**
+     * Merge finished counts and copy more chunks until the deadline
+     *
+     * @return true once every chunk has been counted
+     */
+    private boolean tick(long deadline) {
+        Result result;
+        while ((result = finished.poll()) != null) {
+            inFlight--;
+            store(result);
+            add(result);
+        }
+
+        while (!targets.isEmpty() && System.nanoTime() < deadline) {
+            Target target = targets.poll();
+            WorldChunk chunk = target.world().getChunkManager().getWorldChunk(
+                    ChunkPos.getPackedX(target.chunkPos()), ChunkPos.getPackedZ(target.chunkPos()));
+            if (chunk == null) {
+                continue; // Unloaded since the census started
+            }
+
+            RegistryKey<World> dimension = target.world().getRegistryKey();
+            long revision = RevisionedChunk.getRevision(chunk);
+
+            Long2ObjectMap<ChunkCount> counts = cache.get(dimension);
+            ChunkCount cached = counts != null ? counts.get(target.chunkPos()) : null;
+            if (cached != null && cached.revision() == revision) {
+                cachedChunks++;
+                add(new Result(target.world(), target.chunkPos(), revision, cached.counts()));
+                continue;
+            }
+
+            // Copy only sections whose palette holds corruption at all
+            List<PalettedContainer<BlockState>> sections = new ArrayList<>();
+            for (ChunkSection section : chunk.getSectionArray()) {
+                PalettedContainer<BlockState> container = section.getBlockStateContainer();
+                if (container.hasAny(CORRUPTION)) {
+                    sections.add(container.copy());
+                }
+            }
+
+            if (sections.isEmpty()) {
+                Result empty = new Result(target.world(), target.chunkPos(), revision,
+                        new int[SculkCorruptionManager.getCorruptionBlockCount()]);
+                store(empty);
+                add(empty);
+                continue;
+            }
+
+            inFlight++;
+            CompletableFuture.supplyAsync(() -> count(sections), executor).whenComplete((blockCounts, error) -> {
+                if (error != null) {
+                    Enderborne.LOGGER.error("Corruption census failed for chunk {}",
+                            new ChunkPos(target.chunkPos()), error);
+                    blockCounts = new int[SculkCorruptionManager.getCorruptionBlockCount()];
+                }
+                finished.add(new Result(target.world(), target.chunkPos(), revision, blockCounts));
+            });
+        }
+
+        return targets.isEmpty() && inFlight == 0;
+    }
+
+    /**
+     * Count corruption blocks by type from the section palettes (worker thread)
+     */
+    private static int[] count(List<PalettedContainer<BlockState>> sections) {
+        int[] counts = new int[SculkCorruptionManager.getCorruptionBlockCount()];
+        for (PalettedContainer<BlockState> section : sections) {
+            section.count((state, count) -> {
+                int index = SculkCorruptionManager.getCorruptionIndex(state);
+                if (index >= 0) {
+                    counts[index] += count;
+                }
+            });
+        }
+        return counts;
+    }
+
+    /**
+     * Cache a fresh count if its chunk is still loaded and unchanged
+     */
+    private static void store(Result result) {
+        WorldChunk chunk = result.world().getChunkManager().getWorldChunk(
+                ChunkPos.getPackedX(result.chunkPos()), ChunkPos.getPackedZ(result.chunkPos()));
+        if (chunk != null && RevisionedChunk.getRevision(chunk) == result.revision()) {
+            cache.computeIfAbsent(result.world().getRegistryKey(), key -> new Long2ObjectOpenHashMap<>())
+                    .put(result.chunkPos(), new ChunkCount(result.revision(), result.counts()));
+        }
+    }
+
+    private void add(Result result) {
+        RegistryKey<World> dimension = result.world().getRegistryKey();
+        long[] dimensionTotals = totals.computeIfAbsent(dimension,
+                key -> new long[SculkCorruptionManager.getCorruptionBlockCount()]);
+        for (int i = 0; i < dimensionTotals.length; i++) {
+            dimensionTotals[i] += result.counts()[i];
+        }
+
+        if (result.total() > 0) {
+            corruptedChunks.merge(dimension, 1, Integer::sum);
+            hotChunks.add(result);
+        }
+    }
+
+    private void report() {
+        long millis = (System.nanoTime() - startedNanos) / 1_000_000L;
+        source.sendFeedback(() -> Text.literal("§5§lCorruption census§7 - " + chunkTotal + " chunks ("
+                + cachedChunks + " cached) in " + millis + " ms"), false);
+
+        for (Map.Entry<RegistryKey<World>, long[]> entry : totals.entrySet()) {
+            long[] counts = entry.getValue();
+            long total = 0;
+            StringBuilder types = new StringBuilder();
+            for (int i = 0; i < counts.length; i++) {
+                total += counts[i];
+                if (counts[i] > 0) {
+                    types.append(types.isEmpty() ? "" : ", ").append(counts[i]).append(' ')
+                            .append(SculkCorruptionManager.getCorruptionBlock(i).getName().getString());
+                }
+            }
+
+            long dimensionTotal = total;
+            int chunks = corruptedChunks.getOrDefault(entry.getKey(), 0);
+            source.sendFeedback(() -> Text.literal("§d" + entry.getKey().getValue() + "§7: §f" + dimensionTotal
+                    + "§7 blocks in §f" + chunks + "§7 chunks" + (types.isEmpty() ? "" : " (" + types + ")")), false);
+        }
+
+        if (hotChunks.isEmpty()) {
+            return;
+        }
+
+        hotChunks.sort(Comparator.comparingInt(Result::total).reversed());
+        source.sendFeedback(() -> Text.literal("§7Most corrupted chunks:"), false);
+        for (int i = 0; i < Math.min(TOP_CHUNKS, hotChunks.size()); i++) {
+            Result hot = hotChunks.get(i);
+            ChunkPos pos = new ChunkPos(hot.chunkPos());
+            int rank = i + 1;
+            source.sendFeedback(() -> Text.literal("§7" + rank + ". §f" + hot.world().getRegistryKey().getValue()
+                    + " [" + pos.x + ", " + pos.z + "]§7 at " + pos.getCenterX() + ", " + pos.getCenterZ()
+                    + " - §f" + hot.total() + "§7 blocks"), false);
+        }
+    }
+
+    private record Target(ServerWorld world, long chunkPos) {
+    }
+
+    private record ChunkCount(long revision, int[] counts) {
+    }
+
+    private record Result(ServerWorld world, long chunkPos, long revision, int[] counts) {
+
+        int total() {
+            int total = 0;
+            for (int count : counts) {
+                total += count;
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package de.tecca.enderborne.corruption;
+
+import de.tecca.enderborne.Enderborne;
+import de.tecca.enderborne.config.EnderborneConfig;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.world.World;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Journal of every block the corruption changed at runtime
+ * Records are fixed 32-byte entries written straight into a memory-mapped
+ * file, so recording a change on the server thread is a handful of stores
+ * The file is a ring of 8 MiB segments capped by corruption.journalMaxMegabytes;
+ * once it is full the oldest segment is overwritten, so only recent changes
+ * can be rolled back
+ * Dimensions are stored as indices into a small text table next to the journal
+ * State ids are only valid for the registry they were written with, so the
+ * header keeps a hash of every block state in id order; a journal from a
+ * different block set, or with a different size cap, is moved aside on startup
+ *
+ * Header: magic, version, state id count, state registry hash, record count,
+ * ring segments, reserved (32 bytes)
+ * Record: packed pos, world time, old state id, new state id, dimension, flags
+ */
+public final class CorruptionJournal {
+
+    private static final int MAGIC = 0x45424A4C; // "EBJL"
+    private static final int VERSION = 2;
+
+    static final int HEADER_BYTES = 32;
+    static final int RECORD_BYTES = 32;
+    private static final int STATE_COUNT_OFFSET = 8;
+    private static final int STATE_HASH_OFFSET = 12;
+    private static final int COUNT_OFFSET = 16;
+    private static final int SEGMENTS_OFFSET = 24;
+
+    // Records are mapped in 8 MiB segments, so no record straddles two mappings
+    static final int RECORDS_PER_SEGMENT = 1 << 18;
+    private static final long SEGMENT_BYTES = (long) RECORDS_PER_SEGMENT * RECORD_BYTES;
+    private static final int SEGMENT_MEGABYTES = (int) (SEGMENT_BYTES >> 20);
+
+    // Record field offsets
+    static final int POS = 0;
+    static final int TICK = 8;
+    static final int OLD_STATE = 16;
+    static final int NEW_STATE = 20;
+    static final int DIMENSION = 24;
+    static final int FLAGS = 28;
+
+    static final int FLAG_ROLLED_BACK = 1;
+
+    private static final String FILE_NAME = "corruption.journal";
+    private static final String DIMENSIONS_FILE_NAME = "corruption.journal.dims";
+
+    private static FileChannel channel;
+    private static MappedByteBuffer header;
+    private static MappedByteBuffer segment;
+    private static int segmentIndex = -1;
+    private static long count;
+
+    // Segments in the ring and hash of the block state ids, fixed while open
+    private static int segments;
+    private static int stateHash;
+
+    private static Path dimensionsFile;
+    private static final List<RegistryKey<World>> dimensions = new ArrayList<>();
+    private static final Object2IntMap<RegistryKey<World>> dimensionIds = new Object2IntOpenHashMap<>();
+
+    // Rollback currently being streamed, one at a time
+    private static CorruptionRollback activeRollback;
+
+    static {
+        dimensionIds.defaultReturnValue(-1);
+    }
+
+    private CorruptionJournal() {
+    }
+
+    /**
+     * Open the journal with the world and advance rollbacks every tick
+     */
+    public static void register() {
+        ServerLifecycleEvents.SERVER_STARTED.register(CorruptionJournal::open);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> close());
+        ServerTickEvents.END_SERVER_TICK.register(CorruptionJournal::tickRollback);
+    }
+
+    public static boolean isOpen() {
+        return channel != null;
+    }
+
+    /**
+     * Append one block change; called on the server thread only
+     */
+    public static void record(ServerWorld world, long pos, BlockState oldState, BlockState newState) {
+        if (channel == null) {
+            return;
+        }
+
+        int index = (int) (count % RECORDS_PER_SEGMENT);
+        try {
+            if (segmentIndex != (int) (count / RECORDS_PER_SEGMENT)) {
+                segmentIndex = (int) (count / RECORDS_PER_SEGMENT);
+                segment = mapSegment(segmentIndex);
+            }
+        } catch (IOException e) {
+            Enderborne.LOGGER.error("Failed to grow corruption journal, disabling it", e);
+            close();
+            return;
+        }
+
+        int offset = index * RECORD_BYTES;
+        segment.putLong(offset + POS, pos);
+        segment.putLong(offset + TICK, world.getTime());
+        segment.putInt(offset + OLD_STATE, Block.getRawIdFromState(oldState));
+        segment.putInt(offset + NEW_STATE, Block.getRawIdFromState(newState));
+        segment.putInt(offset + DIMENSION, getOrCreateDimensionId(world.getRegistryKey()));
+        segment.putInt(offset + FLAGS, 0);
+
+        header.putLong(COUNT_OFFSET, ++count);
+    }
+
+    /**
+     * Start streaming a rollback
+     *
+     * @return false if the journal is closed or another rollback is still running
+     */
+    public static boolean startRollback(CorruptionRollback rollback) {
+        if (channel == null || activeRollback != null) {
+            return false;
+        }
+        activeRollback = rollback;
+        return true;
+    }
+
+    static long getCount() {
+        return count;
+    }
+
+    /**
+     * Index of the oldest record that has not been overwritten yet
+     * Records below it are gone, whatever their segment now holds
+     */
+    static long getFirstIndex() {
+        long current = count / RECORDS_PER_SEGMENT;
+        return Math.max(0, current - segments + 1) * RECORDS_PER_SEGMENT;
+    }
+
+    /**
+     * Index of a dimension in the journal, or -1 if it never had a change recorded
+     */
+    static int getDimensionId(RegistryKey<World> dimension) {
+        return dimensionIds.getInt(dimension);
+    }
+
+    /**
+     * Map the ring slot holding the segment with the given index
+     */
+    static MappedByteBuffer mapSegment(int index) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + (index % segments) * SEGMENT_BYTES,
+                SEGMENT_BYTES);
+    }
+
+    private static void open(MinecraftServer server) {
+        EnderborneConfig config = Enderborne.getConfig();
+        if (config == null || !config.isCorruptionJournalEnabled()) {
+            return;
+        }
+
+        segments = Math.max(1, config.getCorruptionJournalMaxMegabytes() / SEGMENT_MEGABYTES);
+        stateHash = hashStateIds();
+
+        Path directory = server.getSavePath(WorldSavePath.ROOT).resolve(Enderborne.MOD_ID);
+        Path file = directory.resolve(FILE_NAME);
+        dimensionsFile = directory.resolve(DIMENSIONS_FILE_NAME);
+
+        try {
+            Files.createDirectories(directory);
+            loadDimensions();
+
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            long size = channel.size();
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+
+            String incompatibility = size >= HEADER_BYTES ? getIncompatibility() : null;
+            if (incompatibility != null) {
+                // Old format, different block registry or size cap - keep it for inspection, start over
+                channel.close();
+                Path moved = directory.resolve(FILE_NAME + "." + System.currentTimeMillis() + ".old");
+                Files.move(file, moved);
+                Files.deleteIfExists(dimensionsFile);
+                Enderborne.LOGGER.warn("Corruption journal {}, moved to {}", incompatibility, moved);
+
+                dimensions.clear();
+                dimensionIds.clear();
+                channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+                header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+                size = 0;
+            }
+
+            if (size < HEADER_BYTES) {
+                header.putInt(0, MAGIC);
+                header.putInt(4, VERSION);
+                header.putInt(STATE_COUNT_OFFSET, Block.STATE_IDS.size());
+                header.putInt(STATE_HASH_OFFSET, stateHash);
+                header.putLong(COUNT_OFFSET, 0);
+                header.putInt(SEGMENTS_OFFSET, segments);
+            }
+
+            // Never trust a count beyond what the file can hold, unless the ring is full and wrapped
+            count = header.getLong(COUNT_OFFSET);
+            long capacity = Math.max(0, (size - HEADER_BYTES) / RECORD_BYTES);
+            if (count > capacity && capacity < (long) segments * RECORDS_PER_SEGMENT) {
+                count = capacity;
+            }
+            segmentIndex = -1;
+            Enderborne.LOGGER.info("Opened corruption journal with {} records", count);
+        } catch (IOException e) {
+            Enderborne.LOGGER.error("Failed to open corruption journal {}, changes will not be recorded", file, e);
+            close();
+        }
+    }
+
+    /**
+     * Why the opened journal cannot be continued, or null if it can
+     */
+    private static String getIncompatibility() {
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            return "has an old format";
+        }
+        if (header.getInt(STATE_COUNT_OFFSET) != Block.STATE_IDS.size()
+                || header.getInt(STATE_HASH_OFFSET) != stateHash) {
+            return "was written with a different block registry";
+        }
+        if (header.getInt(SEGMENTS_OFFSET) != segments) {
+            return "has a different size cap";
+        }
+        return null;
+    }
+
+    /**
+     * Hash of every block state in raw id order, so any reordering of ids
+     * between runs is caught, not just a change in their number
+     */
+    private static int hashStateIds() {
+        int hash = 1;
+        for (BlockState state : Block.STATE_IDS) {
+            hash = 31 * hash + state.toString().hashCode();
+        }
+        return hash;
+    }
+
+    private static void close() {
+        activeRollback = null;
+
+        if (channel != null) {
+            try {
+                if (segment != null) {
+                    segment.force();
+                }
+                header.force();
+                channel.close();
+            } catch (IOException e) {
+                Enderborne.LOGGER.error("Failed to close corruption journal", e);
+            }
+        }
+
+        channel = null;
+        header = null;
+        segment = null;
+        segmentIndex = -1;
+        count = 0;
+        dimensions.clear();
+        dimensionIds.clear();
+    }
+
+    private static void loadDimensions() throws IOException {
+        dimensions.clear();
+        dimensionIds.clear();
+
+        if (Files.exists(dimensionsFile)) {
+            for (String line : Files.readAllLines(dimensionsFile, StandardCharsets.UTF_8)) {
+                RegistryKey<World> dimension = RegistryKey.of(RegistryKeys.WORLD, Identifier.of(line.trim()));
+                dimensionIds.put(dimension, dimensions.size());
+                dimensions.add(dimension);
+            }
+        }
+    }
+
+    private static int getOrCreateDimensionId(RegistryKey<World> dimension) {
+        int id = dimensionIds.getInt(dimension);
+        if (id != -1) {
+            return id;
+        }
+
+        // Rare - once per dimension for the lifetime of the journal
+        id = dimensions.size();
+        try {
+            Files.writeString(dimensionsFile, dimension.getValue() + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            Enderborne.LOGGER.error("Failed to record journal dimension {}", dimension.getValue(), e);
+        }
+
+        dimensions.add(dimension);
+        dimensionIds.put(dimension, id);
+        return id;
+    }
+
+    private static void tickRollback(MinecraftServer server) {
+        CorruptionRollback rollback = activeRollback;
+        if (rollback == null) {
+            return;
+        }
+
+        ServerWorld world = server.getWorld(rollback.getDimension());
+        try {
+            if (world == null || rollback.tick(world, Enderborne.getConfig().getCorruptionRollbackBlocksPerTick())) {
+                activeRollback = null;
+                rollback.finish();
+            }
+        } catch (IOException e) {
+            activeRollback = null;
+            Enderborne.LOGGER.error("Corruption rollback failed", e);
+            rollback.fail(e);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package de.tecca.enderborne.corruption;
+
+import de.tecca.enderborne.Enderborne;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.random.Random;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Corruption profile compiled into lookup tables for the hot path
+ * Spreadable blocks become a bitset over raw block state ids and the weighted
+ * outputs an alias table, so every per-block decision is O(1) and allocation-free
+ * Immutable once built and safe to share between planner threads
+ */
+public final class CorruptionProfile {
+
+    // Own logger rather than Enderborne.LOGGER, so offline tools can compile
+    // profiles without initializing the mod class and its registrations
+    private static final Logger LOGGER = LoggerFactory.getLogger(Enderborne.MOD_ID);
+
+    private final CorruptionProfileData data;
+    private final BitSet spreadable;
+    private final Predicate<BlockState> spreadablePredicate = this::canCorrupt;
+    private final PatchStamp[] stamps;
+
+    // Walker/Vose alias table over the weighted outputs
+    private final BlockState[] outputs;
+    private final float[] outputChance;
+    private final int[] outputAlias;
+
+    private CorruptionProfile(CorruptionProfileData data, BitSet spreadable, BlockState[] outputs,
+                              float[] outputChance, int[] outputAlias) {
+        this.data = data;
+        this.spreadable = spreadable;
+        this.outputs = outputs;
+        this.outputChance = outputChance;
+        this.outputAlias = outputAlias;
+
+        this.stamps = PatchStamp.createAll(Math.min(data.minPatchRadius(), data.maxPatchRadius()),
+                Math.max(data.minPatchRadius(), data.maxPatchRadius()), data.intensity());
+    }
+
+    /**
+     * Resolve blocks and tags against the current registries and build the tables
+     * Must run after tags are bound
+     */
+    public static CorruptionProfile compile(Identifier id, CorruptionProfileData data) {
+        BitSet spreadable = new BitSet(Block.STATE_IDS.size());
+        for (String entry : data.spreadable()) {
+            if (entry.startsWith("#")) {
+                TagKey<Block> tag = TagKey.of(RegistryKeys.BLOCK, Identifier.of(entry.substring(1)));
+                try {
+                    for (RegistryEntry<Block> block : Registries.BLOCK.iterateEntries(tag)) {
+                        addStates(spreadable, block.value());
+                    }
+                } catch (IllegalStateException e) {
+                    // Tags are not bound outside a running server
+                    LOGGER.warn("Skipping unbound tag '{}' in corruption profile {}", entry, id);
+                }
+            } else {
+                Block block = Registries.BLOCK.getOptionalValue(Identifier.of(entry)).orElse(null);
+                if (block == null) {
+                    LOGGER.warn("Unknown spreadable block '{}' in corruption profile {}", entry, id);
+                    continue;
+                }
+                addStates(spreadable, block);
+            }
+        }
+
+        List<CorruptionProfileData.Output> weighted = data.outputs();
+        int count = weighted.size();
+        BlockState[] outputs = new BlockState[count];
+        float[] chance = new float[count];
+        int[] alias = new int[count];
+        buildAliasTable(weighted, outputs, chance, alias);
+
+        return new CorruptionProfile(data, spreadable, outputs, chance, alias);
+    }
+
+    private static void addStates(BitSet bits, Block block) {
+        for (BlockState state : block.getStateManager().getStates()) {
+            bits.set(Block.getRawIdFromState(state));
+        }
+    }
+
+    /**
+     * Vose's alias method - O(n) build, O(1) weighted pick
+     */
+    private static void buildAliasTable(List<CorruptionProfileData.Output> weighted, BlockState[] outputs,
+                                        float[] chance, int[] alias) {
+        int count = weighted.size();
+        if (count == 0) {
+            return;
+        }
+
+        long totalWeight = 0;
+        for (CorruptionProfileData.Output output : weighted) {
+            totalWeight += output.weight();
+        }
+
+        double[] scaled = new double[count];
+        int[] small = new int[count];
+        int[] large = new int[count];
+        int smallCount = 0;
+        int largeCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            outputs[i] = weighted.get(i).block().getDefaultState();
+            scaled[i] = (double) weighted.get(i).weight() * count / totalWeight;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+
+            chance[less] = (float) scaled[less];
+            alias[less] = more;
+
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Leftovers are only off by rounding and always keep their own output
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            chance[index] = 1.0f;
+            alias[index] = index;
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            chance[index] = 1.0f;
+            alias[index] = index;
+        }
+    }
+
+    public CorruptionProfileData getData() {
+        return data;
+    }
+
+    /**
+     * Chance that a chunk gets corrupted at all
+     */
+    public float getChance() {
+        return data.chance();
+    }
+
+    /**
+     * Block that corruption is reverted to when it is cleansed
+     */
+    public Block getBaseBlock() {
+        return data.baseBlock();
+    }
+
+    /**
+     * Whether corruption may spread into this state
+     */
+    public boolean canCorrupt(BlockState state) {
+        return spreadable.get(Block.getRawIdFromState(state));
+    }
+
+    /**
+     * canCorrupt as a shared predicate, for palette checks without allocating
+     */
+    public Predicate<BlockState> getSpreadablePredicate() {
+        return spreadablePredicate;
+    }
+
+    /**
+     * Pick a weighted corruption output, or null if the profile has none
+     */
+    public BlockState pickOutput(Random random) {
+        if (outputs.length == 0) {
+            return null;
+        }
+
+        int index = random.nextInt(outputs.length);
+        return random.nextFloat() < outputChance[index] ? outputs[index] : outputs[outputAlias[index]];
+    }
+
+    /**
+     * Pick the patch template for a random radius within the profile's range
+     */
+    public PatchStamp pickStamp(Random random) {
+        return stamps[random.nextInt(stamps.length)];
+    }
+}
@@ -0,0 +1,62 @@
+package de.tecca.enderborne.corruption;
+
+import com.google.gson.JsonParser;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
+import com.mojang.serialization.JsonOps;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.block.Block;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.world.World;
+
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Corruption profile of one dimension as read from a datapack
+ * Loaded from data/<namespace>/enderborne/corruption_profile/*.json
+ * Spreadable entries are block ids, or block tags when prefixed with '#'
+ */
+public record CorruptionProfileData(
+        RegistryKey<World> dimension,
+        float chance,
+        float intensity,
+        int minPatchRadius,
+        int maxPatchRadius,
+        List<String> spreadable,
+        List<Output> outputs,
+        Block baseBlock
+) {
+
+    public static final Codec<CorruptionProfileData> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            World.CODEC.fieldOf("dimension").forGetter(CorruptionProfileData::dimension),
+            Codec.floatRange(0.0f, 1.0f).fieldOf("chance").forGetter(CorruptionProfileData::chance),
+            Codec.floatRange(0.0f, 1.0f).fieldOf("intensity").forGetter(CorruptionProfileData::intensity),
+            Codec.intRange(PatchStamp.MIN_RADIUS, PatchStamp.MAX_RADIUS)
+                    .optionalFieldOf("min_patch_radius", PatchStamp.MIN_RADIUS).forGetter(CorruptionProfileData::minPatchRadius),
+            Codec.intRange(PatchStamp.MIN_RADIUS, PatchStamp.MAX_RADIUS)
+                    .optionalFieldOf("max_patch_radius", PatchStamp.MAX_RADIUS).forGetter(CorruptionProfileData::maxPatchRadius),
+            Codec.STRING.listOf().fieldOf("spreadable").forGetter(CorruptionProfileData::spreadable),
+            Output.CODEC.listOf().fieldOf("outputs").forGetter(CorruptionProfileData::outputs),
+            Registries.BLOCK.getCodec().fieldOf("base_block").forGetter(CorruptionProfileData::baseBlock)
+    ).apply(instance, CorruptionProfileData::new));
+
+    /**
+     * Parse one profile JSON document
+     */
+    public static DataResult<CorruptionProfileData> parse(Reader reader) {
+        return CODEC.parse(JsonOps.INSTANCE, JsonParser.parseReader(reader));
+    }
+
+    /**
+     * A corruption block and its relative weight when picking outputs
+     */
+    public record Output(Block block, int weight) {
+
+        public static final Codec<Output> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+                Registries.BLOCK.getCodec().fieldOf("block").forGetter(Output::block),
+                Codec.intRange(1, Integer.MAX_VALUE).optionalFieldOf("weight", 1).forGetter(Output::weight)
+        ).apply(instance, Output::new));
+    }
+}
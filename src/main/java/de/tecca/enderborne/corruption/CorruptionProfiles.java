@@ -0,0 +1,136 @@
+package de.tecca.enderborne.corruption;
+
+import de.tecca.enderborne.Enderborne;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceFinder;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+import net.minecraft.world.World;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Registry of the per-dimension corruption profiles loaded from datapacks
+ * Profiles are read on every data reload and compiled on first use, because
+ * block tags are only bound once the whole reload has finished
+ * Dimensions without a profile are never corrupted
+ */
+public final class CorruptionProfiles {
+
+    private static final ResourceFinder FINDER = ResourceFinder.json("enderborne/corruption_profile");
+
+    // Classpath location of the profiles bundled with the mod
+    private static final String BUNDLED_PATH = "/data/" + Enderborne.MOD_ID + "/enderborne/corruption_profile/";
+
+    // Parsed profiles by file id, replaced wholesale on reload
+    private static volatile Map<Identifier, CorruptionProfileData> definitions = Map.of();
+
+    // Compiled lookup tables, built lazily from the current definitions
+    private static volatile Map<RegistryKey<World>, CorruptionProfile> compiled;
+
+    private CorruptionProfiles() {
+    }
+
+    /**
+     * Hook profile loading into server data reloads
+     */
+    public static void register() {
+        ResourceManagerHelper.get(ResourceType.SERVER_DATA).registerReloadListener(new ReloadListener());
+
+        // Tags may have changed along with the profiles - recompile on next use
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> compiled = null);
+    }
+
+    /**
+     * Get the compiled profile of a dimension, or null if it has none
+     * Safe to call from planner and world generation threads
+     */
+    public static CorruptionProfile get(RegistryKey<World> dimension) {
+        Map<RegistryKey<World>, CorruptionProfile> profiles = compiled;
+        if (profiles == null) {
+            profiles = compile();
+        }
+        return profiles.get(dimension);
+    }
+
+    /**
+     * Compile the profile bundled with the mod for a dimension, without a server
+     * For offline tools and benchmarks where no data reload happens, so block
+     * tags in the profile are not bound and ignored
+     */
+    public static CorruptionProfile loadBundled(RegistryKey<World> dimension) throws IOException {
+        Identifier id = dimension.getValue();
+        InputStream input = CorruptionProfiles.class.getResourceAsStream(BUNDLED_PATH + id.getPath() + ".json");
+        if (input == null) {
+            throw new IOException("No bundled corruption profile for " + id);
+        }
+
+        try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+            CorruptionProfileData data = CorruptionProfileData.parse(reader)
+                    .getOrThrow(error -> new IOException("Invalid corruption profile " + id + ": " + error));
+            return CorruptionProfile.compile(id, data);
+        }
+    }
+
+    private static synchronized Map<RegistryKey<World>, CorruptionProfile> compile() {
+        if (compiled != null) {
+            return compiled;
+        }
+
+        Map<RegistryKey<World>, CorruptionProfile> profiles = new HashMap<>();
+        for (Map.Entry<Identifier, CorruptionProfileData> entry : definitions.entrySet()) {
+            CorruptionProfileData data = entry.getValue();
+            CorruptionProfile previous = profiles.put(data.dimension(), CorruptionProfile.compile(entry.getKey(), data));
+            if (previous != null) {
+                Enderborne.LOGGER.warn("Corruption profile {} overrides another profile for {}",
+                        entry.getKey(), data.dimension().getValue());
+            }
+        }
+
+        compiled = profiles;
+        return profiles;
+    }
+
+    private static final class ReloadListener implements SimpleSynchronousResourceReloadListener {
+
+        @Override
+        public Identifier getFabricId() {
+            return Identifier.of(Enderborne.MOD_ID, "corruption_profiles");
+        }
+
+        @Override
+        public void reload(ResourceManager manager) {
+            // Sorted so that overrides between profiles are deterministic
+            Map<Identifier, CorruptionProfileData> loaded = new TreeMap<>();
+
+            for (Map.Entry<Identifier, Resource> entry : FINDER.findResources(manager).entrySet()) {
+                Identifier id = FINDER.toResourceId(entry.getKey());
+
+                try (Reader reader = entry.getValue().getReader()) {
+                    CorruptionProfileData.parse(reader)
+                            .resultOrPartial(error -> Enderborne.LOGGER.error(
+                                    "Invalid corruption profile {}: {}", id, error))
+                            .ifPresent(data -> loaded.put(id, data));
+                } catch (Exception e) {
+                    Enderborne.LOGGER.error("Failed to read corruption profile {}", id, e);
+                }
+            }
+
+            definitions = loaded;
+            compiled = null;
+            Enderborne.LOGGER.info("Loaded {} corruption profiles", loaded.size());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package de.tecca.enderborne.corruption;
+
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.util.math.random.RandomSplitter;
+import net.minecraft.util.math.random.Xoroshiro128PlusPlusRandom;
+import net.minecraft.world.World;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deterministic random sources for corruption
+ * Every chunk gets its own Xoroshiro stream derived from the world seed, the
+ * dimension and its ChunkPos, so corruption is a pure function of those inputs,
+ * identical across restarts and free of shared state between planner threads
+ */
+public final class CorruptionRandom {
+
+    // Splitters are derived through an MD5 of the name, so cache them per seed and stream
+    private static final Map<StreamKey, RandomSplitter> SPLITTERS = new ConcurrentHashMap<>();
+
+    private CorruptionRandom() {
+    }
+
+    /**
+     * Random used to plan the corruption of a chunk
+     */
+    public static Random forChunk(long worldSeed, RegistryKey<World> dimension, ChunkPos chunkPos) {
+        return splitter(worldSeed, dimension, "chunk").split(chunkPos.x, 0, chunkPos.z);
+    }
+
+    public static Random forChunk(ServerWorld world, ChunkPos chunkPos) {
+        return forChunk(world.getSeed(), world.getRegistryKey(), chunkPos);
+    }
+
+    /**
+     * Random used for natural spreading during a given game tick
+     */
+    public static Random forSpread(long worldSeed, RegistryKey<World> dimension, long tick) {
+        return splitter(worldSeed, dimension, "spread").split((int) (tick >>> 32), 0, (int) tick);
+    }
+
+    public static Random forSpread(ServerWorld world) {
+        return forSpread(world.getSeed(), world.getRegistryKey(), world.getTime());
+    }
+
+    private static RandomSplitter splitter(long worldSeed, RegistryKey<World> dimension, String stream) {
+        return SPLITTERS.computeIfAbsent(new StreamKey(worldSeed, dimension, stream), key ->
+                new Xoroshiro128PlusPlusRandom(key.worldSeed()).nextSplitter()
+                        .split(key.dimension().getValue() + "/corruption/" + key.stream())
+                        .nextSplitter());
+    }
+
+    private record StreamKey(long worldSeed, RegistryKey<World> dimension, String stream) {
+    }
+}
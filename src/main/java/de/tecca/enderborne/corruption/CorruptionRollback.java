@@ -0,0 +1,278 @@
+package de.tecca.enderborne.corruption;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.world.ChunkTicketType;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.util.Iterator;
+
+/**
+ * Undoes journaled corruption changes by streaming the journal backwards
+ * Newest records are undone first, so a block changed several times ends up
+ * in the state it had before the first change in the window
+ * Blocks that no longer hold the state the corruption left are skipped, so
+ * player builds since then are never overwritten
+ * Runs over several ticks and only ever restores into chunks that are already
+ * loaded; records in other chunks are parked while a ticket loads their chunk
+ * in the background, and restored in order once it is there
+ */
+public class CorruptionRollback {
+
+    // Records inspected per tick, independent of how many are restored
+    private static final int SCAN_PER_TICK = 1 << 16;
+
+    // Chunks waiting to load at once; scanning pauses while this many are parked
+    private static final int MAX_PARKED_CHUNKS = 64;
+
+    // Portal tickets expire after 300 ticks, renew them before that
+    private static final int TICKET_RENEW_TICKS = 200;
+
+    // Give up on a chunk that has not loaded after this long and keep its records
+    private static final int CHUNK_TIMEOUT_TICKS = 1200;
+
+    private final ServerCommandSource source;
+    private final RegistryKey<World> dimension;
+    private final int dimensionId;
+    private final BlockBox area;
+    private final long minTick;
+
+    // Next record to inspect is cursor - 1
+    private long cursor;
+    private int mappedSegment = -1;
+    private MappedByteBuffer buffer;
+
+    // Records waiting for their chunk to load, by packed ChunkPos in request order
+    private final Long2ObjectMap<ParkedChunk> parked = new Long2ObjectLinkedOpenHashMap<>();
+
+    private int restored;
+    private int skipped;
+
+    private CorruptionRollback(ServerCommandSource source, ServerWorld world, BlockBox area, long minTick) {
+        this.source = source;
+        this.dimension = world.getRegistryKey();
+        this.dimensionId = CorruptionJournal.getDimensionId(dimension);
+        this.area = area;
+        this.minTick = minTick;
+        this.cursor = CorruptionJournal.getCount();
+    }
+
+    /**
+     * Roll back every journaled change inside a box
+     */
+    public static CorruptionRollback inArea(ServerCommandSource source, ServerWorld world, BlockBox area) {
+        return new CorruptionRollback(source, world, area, Long.MIN_VALUE);
+    }
+
+    /**
+     * Roll back every journaled change of the last given number of ticks
+     */
+    public static CorruptionRollback since(ServerCommandSource source, ServerWorld world, long ticks) {
+        return new CorruptionRollback(source, world, null, world.getTime() - ticks);
+    }
+
+    public RegistryKey<World> getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Restore parked records whose chunk has loaded, then inspect the next batch
+     *
+     * @return true once the whole window has been rolled back
+     */
+    boolean tick(ServerWorld world, int maxRestores) throws IOException {
+        if (dimensionId == -1) {
+            return true; // Nothing was ever recorded for this dimension
+        }
+
+        int restoredThisTick = restoreParked(world, maxRestores);
+
+        BlockPos.Mutable mutable = new BlockPos.Mutable();
+        int scanned = 0;
+
+        while (cursor > 0 && scanned < SCAN_PER_TICK && restoredThisTick < maxRestores) {
+            long index = --cursor;
+            scanned++;
+
+            if (index < CorruptionJournal.getFirstIndex()) {
+                cursor = 0; // Older records were overwritten by the ring
+                break;
+            }
+
+            int offset = map(index);
+            if (buffer.getInt(offset + CorruptionJournal.DIMENSION) != dimensionId) {
+                continue;
+            }
+
+            if (buffer.getLong(offset + CorruptionJournal.TICK) < minTick) {
+                cursor = 0; // Records are in time order - everything older is outside the window
+                break;
+            }
+
+            if ((buffer.getInt(offset + CorruptionJournal.FLAGS) & CorruptionJournal.FLAG_ROLLED_BACK) != 0) {
+                continue;
+            }
+
+            mutable.set(buffer.getLong(offset + CorruptionJournal.POS));
+            if (area != null && !area.contains(mutable)) {
+                continue;
+            }
+
+            long chunkPos = ChunkPos.toLong(mutable.getX() >> 4, mutable.getZ() >> 4);
+            ParkedChunk waiting = parked.get(chunkPos);
+            WorldChunk chunk = waiting == null
+                    ? world.getChunkManager().getWorldChunk(mutable.getX() >> 4, mutable.getZ() >> 4) : null;
+
+            if (chunk != null) {
+                if (restore(world, chunk, offset)) {
+                    restoredThisTick++;
+                }
+            } else if (waiting != null) {
+                waiting.records.add(index); // Behind newer records of the same chunk
+            } else if (parked.size() < MAX_PARKED_CHUNKS) {
+                park(world, chunkPos, index);
+            } else {
+                cursor++; // Too many chunks loading - inspect this record again later
+                break;
+            }
+        }
+
+        return cursor == 0 && parked.isEmpty();
+    }
+
+    private void park(ServerWorld world, long chunkPos, long index) {
+        int now = world.getServer().getTicks();
+        ParkedChunk chunk = new ParkedChunk(now + CHUNK_TIMEOUT_TICKS);
+        chunk.records.add(index);
+        chunk.ticketTick = now;
+        parked.put(chunkPos, chunk);
+        world.getChunkManager().addTicket(ChunkTicketType.PORTAL, new ChunkPos(chunkPos), 0);
+    }
+
+    /**
+     * Restore the records of parked chunks that finished loading, newest first
+     * Chunks still loading get their ticket renewed until they run out of time
+     *
+     * @return the number of blocks restored
+     */
+    private int restoreParked(ServerWorld world, int maxRestores) throws IOException {
+        int now = world.getServer().getTicks();
+        int restoredThisTick = 0;
+
+        Iterator<Long2ObjectMap.Entry<ParkedChunk>> iterator = parked.long2ObjectEntrySet().iterator();
+        while (iterator.hasNext() && restoredThisTick < maxRestores) {
+            Long2ObjectMap.Entry<ParkedChunk> entry = iterator.next();
+            ParkedChunk waiting = entry.getValue();
+            ChunkPos chunkPos = new ChunkPos(entry.getLongKey());
+            WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkPos.x, chunkPos.z);
+
+            if (chunk == null) {
+                if (now >= waiting.deadline) {
+                    skipped += waiting.records.size() - waiting.next; // Left unflagged for a later rollback
+                    iterator.remove();
+                } else if (now - waiting.ticketTick >= TICKET_RENEW_TICKS) {
+                    waiting.ticketTick = now;
+                    world.getChunkManager().addTicket(ChunkTicketType.PORTAL, chunkPos, 0);
+                }
+                continue;
+            }
+
+            while (waiting.next < waiting.records.size() && restoredThisTick < maxRestores) {
+                long index = waiting.records.getLong(waiting.next++);
+                if (index < CorruptionJournal.getFirstIndex()) {
+                    skipped++; // Overwritten while the chunk was loading
+                } else if (restore(world, chunk, map(index))) {
+                    restoredThisTick++;
+                }
+            }
+            if (waiting.next == waiting.records.size()) {
+                iterator.remove();
+            }
+        }
+        return restoredThisTick;
+    }
+
+    /**
+     * Map the segment holding a record
+     *
+     * @return the record's offset in buffer
+     */
+    private int map(long index) throws IOException {
+        int segment = (int) (index / CorruptionJournal.RECORDS_PER_SEGMENT);
+        if (segment != mappedSegment) {
+            buffer = CorruptionJournal.mapSegment(segment);
+            mappedSegment = segment;
+        }
+        return (int) (index % CorruptionJournal.RECORDS_PER_SEGMENT) * CorruptionJournal.RECORD_BYTES;
+    }
+
+    /**
+     * Undo the record at the given offset in a loaded chunk and flag it
+     *
+     * @return true if the block was restored, false if it changed since
+     */
+    private boolean restore(ServerWorld world, WorldChunk chunk, int offset) {
+        BlockPos pos = BlockPos.fromLong(buffer.getLong(offset + CorruptionJournal.POS));
+        BlockState oldState = Block.getStateFromRawId(buffer.getInt(offset + CorruptionJournal.OLD_STATE));
+        BlockState newState = Block.getStateFromRawId(buffer.getInt(offset + CorruptionJournal.NEW_STATE));
+        buffer.putInt(offset + CorruptionJournal.FLAGS,
+                buffer.getInt(offset + CorruptionJournal.FLAGS) | CorruptionJournal.FLAG_ROLLED_BACK);
+
+        if (world.isOutOfHeightLimit(pos) || chunk.getBlockState(pos) != newState) {
+            skipped++;
+            return false; // Changed since the corruption wrote it
+        }
+
+        world.setBlockState(pos, oldState, Block.NOTIFY_LISTENERS);
+
+        if (newState.isOf(Blocks.SCULK_CATALYST)) {
+            CatalystIndex.remove(world, pos);
+        }
+
+        ChunkCorruptionState state = ChunkCorruptionState.getIfPresent(chunk);
+        if (state != null && state.isPlaced(pos.getX(), pos.getY(), pos.getZ())) {
+            state.clearPlaced(pos.getX(), pos.getY(), pos.getZ());
+            chunk.markNeedsSaving();
+        }
+        restored++;
+        return true;
+    }
+
+    void finish() {
+        source.sendFeedback(() -> Text.literal("§7Rolled back §f" + restored + "§7 corruption blocks in "
+                + dimension.getValue() + " (§f" + skipped + "§7 changed since and kept)"), true);
+    }
+
+    void fail(Exception e) {
+        source.sendError(Text.literal("Corruption rollback stopped after " + restored + " blocks: " + e.getMessage()));
+    }
+
+    private static final class ParkedChunk {
+
+        // Journal indices, newest first
+        final LongArrayList records = new LongArrayList();
+        final int deadline;
+        int ticketTick;
+
+        // Records before this one are done
+        int next;
+
+        ParkedChunk(int deadline) {
+            this.deadline = deadline;
+        }
+    }
+}
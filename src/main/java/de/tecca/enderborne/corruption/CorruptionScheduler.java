@@ -0,0 +1,306 @@
+package de.tecca.enderborne.corruption;
+
+import de.tecca.enderborne.Enderborne;
+import de.tecca.enderborne.config.EnderborneConfig;
+import it.unimi.dsi.fastutil.Arrays;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs sculk corruption work within a fixed time budget per server tick
+ * Loaded chunks are queued once, processed nearest-to-players first and
+ * dropped again if they unload before their turn
+ * Chunk corruption is planned on a worker pool against chunk snapshots; the
+ * server thread only copies palettes and applies finished plans
+ */
+public class CorruptionScheduler {
+
+    private final EnderborneConfig config;
+    private final Map<RegistryKey<World>, WorldQueue> queues = new HashMap<>();
+    private final Map<RegistryKey<World>, LoadedChunkSampler> loadedChunks = new HashMap<>();
+
+    // Finished plans waiting to be applied on the server thread
+    private final Queue<PlannedChunk> completed = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger plansInFlight = new AtomicInteger();
+    private ExecutorService planner;
+
+    // Rotates which world gets the budget first so no dimension starves
+    private int worldOffset = 0;
+
+    public CorruptionScheduler(EnderborneConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Hook the scheduler into chunk and tick events
+     */
+    public void register() {
+        ServerChunkEvents.CHUNK_LOAD.register(this::onChunkLoad);
+        ServerChunkEvents.CHUNK_UNLOAD.register(this::onChunkUnload);
+        ServerTickEvents.END_SERVER_TICK.register(this::onServerTick);
+        ServerLifecycleEvents.SERVER_STARTING.register(server -> startPlanner());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> stopPlanner());
+    }
+
+    /**
+     * Worker pool shared by off-thread corruption work, null while no server runs
+     */
+    public Executor getPlanner() {
+        return planner;
+    }
+
+    /**
+     * Loaded chunks of a dimension, or null if none loaded since the server started
+     */
+    public LoadedChunkSampler getLoadedChunks(RegistryKey<World> dimension) {
+        return loadedChunks.get(dimension);
+    }
+
+    private void startPlanner() {
+        AtomicInteger threadId = new AtomicInteger();
+        planner = Executors.newFixedThreadPool(config.getCorruptionPlannerThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "Enderborne Corruption Planner #" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void stopPlanner() {
+        if (planner != null) {
+            planner.shutdownNow();
+            try {
+                planner.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            planner = null;
+        }
+
+        queues.clear();
+        loadedChunks.clear();
+        completed.clear();
+        plansInFlight.set(0);
+    }
+
+    private void onChunkLoad(ServerWorld world, WorldChunk chunk) {
+        long chunkPos = chunk.getPos().toLong();
+        queues.computeIfAbsent(world.getRegistryKey(), key -> new WorldQueue()).enqueue(chunkPos);
+        loadedChunks.computeIfAbsent(world.getRegistryKey(), key -> new LoadedChunkSampler()).add(chunkPos);
+    }
+
+    private void onChunkUnload(ServerWorld world, WorldChunk chunk) {
+        long chunkPos = chunk.getPos().toLong();
+
+        WorldQueue queue = queues.get(world.getRegistryKey());
+        if (queue != null) {
+            queue.remove(chunkPos);
+        }
+
+        LoadedChunkSampler sampler = loadedChunks.get(world.getRegistryKey());
+        if (sampler != null) {
+            sampler.remove(chunkPos);
+        }
+    }
+
+    private void onServerTick(MinecraftServer server) {
+        long budgetNanos = config.getCorruptionTickBudgetMicros() * 1000L;
+        if (budgetNanos <= 0 || planner == null) {
+            return; // Corruption disabled or server not running
+        }
+
+        long deadline = System.nanoTime() + budgetNanos;
+
+        // Commit finished plans first so workers never wait on a full pipeline
+        applyCompletedPlans(server, deadline);
+
+        List<ServerWorld> worlds = new ArrayList<>();
+        server.getWorlds().forEach(worlds::add);
+        if (worlds.isEmpty()) {
+            return;
+        }
+
+        worldOffset = (worldOffset + 1) % worlds.size();
+
+        for (int i = 0; i < worlds.size(); i++) {
+            if (System.nanoTime() >= deadline) {
+                return; // Out of budget - remaining worlds wait for the next tick
+            }
+
+            ServerWorld world = worlds.get((worldOffset + i) % worlds.size());
+
+            WorldQueue queue = queues.get(world.getRegistryKey());
+            if (queue != null) {
+                queue.drain(world, deadline);
+            }
+
+            LoadedChunkSampler sampler = loadedChunks.get(world.getRegistryKey());
+            if (sampler != null && System.nanoTime() < deadline) {
+                SculkCorruptionManager.spreadCorruptionNaturally(world, sampler, config);
+            }
+        }
+    }
+
+    private void applyCompletedPlans(MinecraftServer server, long deadline) {
+        PlannedChunk plan;
+        while (System.nanoTime() < deadline && (plan = completed.poll()) != null) {
+            ServerWorld world = server.getWorld(plan.dimension());
+            if (world == null) {
+                continue;
+            }
+
+            WorldChunk chunk = world.getChunkManager().getWorldChunk(plan.chunkPos().x, plan.chunkPos().z);
+            if (chunk != null) {
+                // Unloaded chunks stay unprocessed and are planned again on their next load
+                plan.batch().apply(world);
+                SculkCorruptionManager.markProcessed(chunk);
+            }
+        }
+    }
+
+    /**
+     * Snapshot a chunk and hand it to the planner pool
+     */
+    private void submitPlan(ServerWorld world, ChunkPos chunkPos) {
+        CompletableFuture<CorruptionBatch> future =
+                SculkCorruptionManager.planChunkCorruptionAsync(world, chunkPos, planner);
+        if (future == null) {
+            return; // Nothing to do for this chunk
+        }
+
+        RegistryKey<World> dimension = world.getRegistryKey();
+        plansInFlight.incrementAndGet();
+
+        future.whenComplete((batch, error) -> {
+            plansInFlight.decrementAndGet();
+
+            if (error != null) {
+                Enderborne.LOGGER.error("Failed to plan corruption for chunk {} in {}",
+                        chunkPos, dimension.getValue(), error);
+            } else {
+                completed.add(new PlannedChunk(dimension, chunkPos, batch));
+            }
+        });
+    }
+
+    /**
+     * A finished plan waiting to be applied
+     */
+    private record PlannedChunk(RegistryKey<World> dimension, ChunkPos chunkPos, CorruptionBatch batch) {
+    }
+
+    /**
+     * Pending chunk work for a single dimension
+     */
+    private class WorldQueue {
+
+        // Deduplicated set of chunks still waiting, in load order
+        private final LongLinkedOpenHashSet pending = new LongLinkedOpenHashSet();
+
+        // Snapshot of pending sorted by player distance, consumed from cursor
+        private long[] ordered = new long[0];
+        private int cursor = 0;
+        private int ticksSinceSort = 0;
+
+        void enqueue(long chunkPos) {
+            pending.add(chunkPos);
+        }
+
+        void remove(long chunkPos) {
+            pending.remove(chunkPos);
+        }
+
+        void drain(ServerWorld world, long deadline) {
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            if (++ticksSinceSort >= config.getCorruptionReprioritizeTicks() || cursor >= ordered.length) {
+                reprioritize(world);
+            }
+
+            int maxInFlight = config.getCorruptionMaxPlansInFlight();
+
+            while (cursor < ordered.length && System.nanoTime() < deadline) {
+                if (plansInFlight.get() >= maxInFlight) {
+                    return; // Workers are saturated - try again next tick
+                }
+
+                long chunkPos = ordered[cursor++];
+
+                // Skip entries that unloaded or were already handled since the last sort
+                if (pending.remove(chunkPos)) {
+                    submitPlan(world, new ChunkPos(chunkPos));
+                }
+            }
+        }
+
+        /**
+         * Rebuild the processing order by chunk distance to the nearest player
+         */
+        private void reprioritize(ServerWorld world) {
+            ticksSinceSort = 0;
+            cursor = 0;
+            ordered = pending.toLongArray();
+
+            List<ServerPlayerEntity> players = world.getPlayers();
+            if (players.isEmpty()) {
+                return; // Nobody to prioritise around - keep load order
+            }
+
+            int[] playerX = new int[players.size()];
+            int[] playerZ = new int[players.size()];
+            for (int i = 0; i < players.size(); i++) {
+                ChunkPos playerChunk = players.get(i).getChunkPos();
+                playerX[i] = playerChunk.x;
+                playerZ[i] = playerChunk.z;
+            }
+
+            int[] distance = new int[ordered.length];
+            for (int i = 0; i < ordered.length; i++) {
+                int x = ChunkPos.getPackedX(ordered[i]);
+                int z = ChunkPos.getPackedZ(ordered[i]);
+                int nearest = Integer.MAX_VALUE;
+
+                for (int p = 0; p < playerX.length; p++) {
+                    int d = Math.max(Math.abs(x - playerX[p]), Math.abs(z - playerZ[p]));
+                    if (d < nearest) nearest = d;
+                }
+                distance[i] = nearest;
+            }
+
+            long[] chunks = ordered;
+            Arrays.quickSort(0, chunks.length,
+                    (a, b) -> Integer.compare(distance[a], distance[b]),
+                    (a, b) -> {
+                        long chunk = chunks[a];
+                        chunks[a] = chunks[b];
+                        chunks[b] = chunk;
+                        int d = distance[a];
+                        distance[a] = distance[b];
+                        distance[b] = d;
+                    });
+        }
+    }
+}
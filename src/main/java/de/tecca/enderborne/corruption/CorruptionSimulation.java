@@ -0,0 +1,376 @@
+package de.tecca.enderborne.corruption;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the corruption rules of one dimension against in-memory chunks for a
+ * number of simulated ticks, without a server
+ * Mirrors the runtime: every chunk rolls and plans its load corruption once,
+ * then each tick has the scheduler's 10% chance to spread from a random active
+ * catalyst of a uniformly sampled chunk, using the same deterministic random
+ * streams as a live world with the same seed
+ * Which chunk spreads at which tick is decided up front, so the chunks are then
+ * simulated independently and in parallel; corruption never crosses from one
+ * chunk into another, which slightly undercounts catalysts near chunk borders
+ */
+public class CorruptionSimulation {
+
+    // Same odds as SculkCorruptionManager.spreadCorruptionNaturally
+    private static final double SPREAD_CHANCE = 0.1;
+
+    private final RegistryKey<World> dimension;
+    private final long worldSeed;
+    private final CorruptionProfile profile;
+    private final BlockEntityCaps caps;
+    private final List<SimulatedChunk> chunks = new ArrayList<>();
+
+    public CorruptionSimulation(RegistryKey<World> dimension, long worldSeed, CorruptionProfile profile,
+                                BlockEntityCaps caps) {
+        this.dimension = dimension;
+        this.worldSeed = worldSeed;
+        this.profile = profile;
+        this.caps = caps;
+    }
+
+    /**
+     * Add a chunk to the simulated world
+     * The view must cover exactly that one chunk and is modified by the run
+     */
+    public void addChunk(ChunkPos chunkPos, ArrayCorruptionView view) {
+        chunks.add(new SimulatedChunk(chunkPos, view, new ChunkCorruptionState()));
+    }
+
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    /**
+     * Simulate the given number of ticks
+     *
+     * @param steps     spread steps per spread, 1 as next to a player, up to the
+     *                  configured catch-up maximum for chunks further out
+     * @param intervals number of equal time slices the report is broken into
+     * @param bursts    number of largest single-tick bursts to report
+     */
+    public Report run(int ticks, int steps, int intervals, int bursts, ExecutorService executor)
+            throws Exception {
+        Events events = scheduleSpreads(ticks);
+
+        List<Future<ChunkResult>> tasks = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            int chunkIndex = i;
+            tasks.add(executor.submit(() -> simulateChunk(chunkIndex, events, steps)));
+        }
+
+        List<ChunkResult> results = new ArrayList<>();
+        for (Future<ChunkResult> task : tasks) {
+            results.add(task.get());
+        }
+        return summarize(ticks, intervals, bursts, events, results);
+    }
+
+    /**
+     * Roll every tick's spread chance and pick its chunk, in tick order
+     */
+    private Events scheduleSpreads(int ticks) {
+        Events events = new Events(chunks.size());
+
+        for (int tick = 1; tick <= ticks && !chunks.isEmpty(); tick++) {
+            Random random = CorruptionRandom.forSpread(worldSeed, dimension, tick);
+            if (random.nextDouble() < SPREAD_CHANCE) {
+                events.add(tick, random.nextInt(chunks.size()));
+            }
+        }
+        events.index();
+        return events;
+    }
+
+    private ChunkResult simulateChunk(int chunkIndex, Events events, int steps) {
+        SimulatedChunk chunk = chunks.get(chunkIndex);
+        ChunkResult result = new ChunkResult();
+
+        // Load corruption, exactly as the scheduler plans it for a freshly loaded chunk
+        Random chunkRandom = CorruptionRandom.forChunk(worldSeed, dimension, chunk.pos());
+        if (SculkCorruptionManager.rollChunkCorruption(profile, chunkRandom)) {
+            CorruptionBatch batch = new CorruptionBatch(caps);
+            SculkCorruptionManager.planChunkCorruption(chunk.view(), profile, chunk.pos(), chunkRandom, batch);
+
+            result.corrupted = true;
+            result.loadBlockEntities = countBlockEntityDelta(chunk, batch);
+            result.loadBlocks = commit(chunk, batch);
+        }
+
+        for (int event : events.forChunk(chunkIndex)) {
+            // Continue the tick's stream after the chance roll and the chunk pick
+            Random random = CorruptionRandom.forSpread(worldSeed, dimension, events.getTick(event));
+            random.nextDouble();
+            random.nextInt(chunks.size());
+
+            BlockPos catalyst = CatalystIndex.pickRandom(chunk.view(), chunk.state(), random);
+            if (catalyst == null) {
+                continue;
+            }
+
+            CatalystFrontier frontier = chunk.state().getFrontier(catalyst.asLong());
+            CorruptionBatch batch = new CorruptionBatch(caps);
+            SculkCorruptionManager.planCatalystSpread(chunk.view(), profile, frontier, random, steps, batch);
+
+            events.setBlockEntities(event, countBlockEntityDelta(chunk, batch));
+            events.setBlocks(event, commit(chunk, batch));
+
+            if (frontier.isExhausted()) {
+                chunk.state().markDormant(catalyst.asLong());
+            }
+        }
+
+        countCoverage(chunk, result);
+        return result;
+    }
+
+    /**
+     * Apply a batch and register new catalysts, as CorruptionBatch.apply does in a world
+     */
+    private static int commit(SimulatedChunk chunk, CorruptionBatch batch) {
+        batch.forEachChange((pos, state) -> {
+            if (state.isOf(Blocks.SCULK_CATALYST)) {
+                chunk.state().addCatalyst(pos);
+            }
+        });
+        return chunk.view().apply(batch);
+    }
+
+    /**
+     * Change in capped block entities the batch will cause once applied
+     */
+    private static int countBlockEntityDelta(SimulatedChunk chunk, CorruptionBatch batch) {
+        int[] delta = new int[1];
+        batch.forEachChange((pos, state) -> {
+            BlockState old = chunk.view().getBlockState(BlockPos.unpackLongX(pos), BlockPos.unpackLongY(pos),
+                    BlockPos.unpackLongZ(pos));
+            if (BlockEntityCaps.isCapped(old)) delta[0]--;
+            if (BlockEntityCaps.isCapped(state)) delta[0]++;
+        });
+        return delta[0];
+    }
+
+    /**
+     * Count land columns, columns topped by corruption and corruption blocks by type
+     */
+    private static void countCoverage(SimulatedChunk chunk, ChunkResult result) {
+        ArrayCorruptionView view = chunk.view();
+        result.blocks = new long[SculkCorruptionManager.getCorruptionBlockCount()];
+
+        for (int x = view.getMinX(); x < view.getMinX() + view.getSizeX(); x++) {
+            for (int z = view.getMinZ(); z < view.getMinZ() + view.getSizeZ(); z++) {
+                int surface = view.getSurfaceY(x, z);
+                if (surface <= view.getBottomY()) {
+                    continue; // Void column
+                }
+
+                result.landColumns++;
+                if (SculkCorruptionManager.isCorruption(view.getBlockState(x, surface - 1, z))) {
+                    result.coveredColumns++;
+                }
+
+                for (int y = view.getBottomY(); y < surface; y++) {
+                    int index = SculkCorruptionManager.getCorruptionIndex(view.getBlockState(x, y, z));
+                    if (index >= 0) {
+                        result.blocks[index]++;
+                    }
+                }
+            }
+        }
+    }
+
+    private Report summarize(int ticks, int intervals, int burstCount, Events events, List<ChunkResult> results) {
+        int corruptedChunks = 0;
+        long loadBlocks = 0;
+        long blockEntities = 0;
+        long landColumns = 0;
+        long coveredColumns = 0;
+        long[] blocks = new long[SculkCorruptionManager.getCorruptionBlockCount()];
+
+        for (ChunkResult result : results) {
+            if (result.corrupted) corruptedChunks++;
+            loadBlocks += result.loadBlocks;
+            blockEntities += result.loadBlockEntities;
+            landColumns += result.landColumns;
+            coveredColumns += result.coveredColumns;
+            for (int i = 0; i < blocks.length; i++) {
+                blocks[i] += result.blocks[i];
+            }
+        }
+        long loadBlockEntities = blockEntities;
+
+        // Walk the spreads in tick order to get totals per time slice
+        int sliceTicks = Math.max(1, (ticks + intervals - 1) / intervals);
+        long[] sliceBlocks = new long[intervals];
+        long[] sliceBlockEntities = new long[intervals];
+        long spreadBlocks = 0;
+        int spreads = 0;
+        int maxBlocks = 0;
+
+        int event = 0;
+        for (int slice = 0; slice < intervals; slice++) {
+            int end = Math.min(ticks, (slice + 1) * sliceTicks);
+            for (; event < events.size() && events.getTick(event) <= end; event++) {
+                int changed = events.getBlocks(event);
+                if (changed > 0) spreads++;
+                spreadBlocks += changed;
+                maxBlocks = Math.max(maxBlocks, changed);
+                sliceBlocks[slice] += changed;
+                blockEntities += events.getBlockEntities(event);
+            }
+            sliceBlockEntities[slice] = blockEntities;
+        }
+
+        List<Burst> bursts = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            if (events.getBlocks(i) > 0) {
+                bursts.add(new Burst(events.getTick(i), chunks.get(events.getChunk(i)).pos(), events.getBlocks(i)));
+            }
+        }
+        bursts.sort(Comparator.comparingInt(Burst::blocks).reversed());
+
+        return new Report(dimension, chunks.size(), ticks, corruptedChunks, loadBlocks, loadBlockEntities,
+                events.size(), spreads, spreadBlocks, sliceTicks, sliceBlocks, sliceBlockEntities,
+                List.copyOf(bursts.subList(0, Math.min(burstCount, bursts.size()))),
+                landColumns, coveredColumns, blocks);
+    }
+
+    /**
+     * Outcome of a simulation run
+     *
+     * @param spreadAttempts     ticks that rolled a spread, whether or not the chunk had a catalyst
+     * @param spreads            spreads that changed at least one block
+     * @param sliceBlocks        blocks changed by spreading in each time slice
+     * @param sliceBlockEntities capped block entities placed by corruption at the end of each slice
+     * @param blocks             corruption blocks by type at the end, see getCorruptionBlock
+     */
+    public record Report(RegistryKey<World> dimension, int chunks, int ticks, int corruptedChunks,
+                         long loadBlocks, long loadBlockEntities, int spreadAttempts, int spreads,
+                         long spreadBlocks, int sliceTicks, long[] sliceBlocks, long[] sliceBlockEntities,
+                         List<Burst> bursts, long landColumns, long coveredColumns, long[] blocks) {
+
+        public double getCoverage() {
+            return landColumns == 0 ? 0 : (double) coveredColumns / landColumns;
+        }
+
+        public String getBlockName(int index) {
+            return SculkCorruptionManager.getCorruptionBlock(index).getName().getString();
+        }
+    }
+
+    /**
+     * Blocks changed by a single spread
+     */
+    public record Burst(int tick, ChunkPos chunkPos, int blocks) {
+    }
+
+    private record SimulatedChunk(ChunkPos pos, ArrayCorruptionView view, ChunkCorruptionState state) {
+    }
+
+    private static final class ChunkResult {
+        boolean corrupted;
+        int loadBlocks;
+        int loadBlockEntities;
+        long landColumns;
+        long coveredColumns;
+        long[] blocks;
+    }
+
+    /**
+     * Scheduled spreads in tick order, with their outcome filled in by the chunk
+     * tasks - each task only writes the entries of its own chunk
+     */
+    private static final class Events {
+
+        private final int chunkCount;
+        private int size;
+        private int[] ticks = new int[1024];
+        private int[] chunkIndices = new int[1024];
+        private int[] blocks;
+        private int[] blockEntities;
+
+        // Event indices grouped by chunk
+        private int[][] byChunk;
+
+        Events(int chunkCount) {
+            this.chunkCount = chunkCount;
+        }
+
+        void add(int tick, int chunk) {
+            if (size == ticks.length) {
+                ticks = Arrays.copyOf(ticks, size * 2);
+                chunkIndices = Arrays.copyOf(chunkIndices, size * 2);
+            }
+            ticks[size] = tick;
+            chunkIndices[size] = chunk;
+            size++;
+        }
+
+        void index() {
+            blocks = new int[size];
+            blockEntities = new int[size];
+
+            int[] counts = new int[chunkCount];
+            for (int i = 0; i < size; i++) {
+                counts[chunkIndices[i]]++;
+            }
+
+            byChunk = new int[chunkCount][];
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                byChunk[chunk] = new int[counts[chunk]];
+                counts[chunk] = 0;
+            }
+            for (int i = 0; i < size; i++) {
+                byChunk[chunkIndices[i]][counts[chunkIndices[i]]++] = i;
+            }
+        }
+
+        int[] forChunk(int chunk) {
+            return byChunk[chunk];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int getTick(int event) {
+            return ticks[event];
+        }
+
+        int getChunk(int event) {
+            return chunkIndices[event];
+        }
+
+        int getBlocks(int event) {
+            return blocks[event];
+        }
+
+        void setBlocks(int event, int changed) {
+            blocks[event] = changed;
+        }
+
+        int getBlockEntities(int event) {
+            return blockEntities[event];
+        }
+
+        void setBlockEntities(int event, int delta) {
+            blockEntities[event] = delta;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package de.tecca.enderborne.corruption;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.PalettedContainer;
+
+/**
+ * Read-only view of the blocks corruption rules are planned against
+ * Implemented by live worlds and by immutable chunk snapshots, so the same
+ * rules can run on the server thread, during world generation or on workers
+ */
+public interface CorruptionView {
+
+    BlockState getBlockState(int x, int y, int z);
+
+    /**
+     * Y of the first free block above the WORLD_SURFACE heightmap in a column
+     */
+    int getSurfaceY(int x, int z);
+
+    int getBottomY();
+
+    /**
+     * Whether corruption may be written at this position (height limit, world border, view bounds)
+     */
+    boolean canWrite(int x, int y, int z);
+
+    /**
+     * Highest non-air block in a column, from the surface down, that the
+     * profile can corrupt, or -1 if there is none
+     * The default reads block by block; palette-backed views skip whole
+     * sections that cannot contain a match
+     */
+    default int findCorruptibleY(int x, int z, CorruptionProfile profile) {
+        int bottomY = getBottomY();
+
+        for (int y = getSurfaceY(x, z); y > bottomY; y--) {
+            BlockState state = getBlockState(x, y, z);
+
+            if (!state.isAir() && profile.canCorrupt(state)) {
+                return y;
+            }
+        }
+        return -1; // No suitable location found
+    }
+
+    /**
+     * Scan one section's column from fromY down to toY (both inclusive)
+     * Returns -1 without reading any block if the palette has no corruptible state
+     */
+    static int findCorruptibleY(PalettedContainer<BlockState> container, int x, int z, int fromY, int toY,
+                                CorruptionProfile profile) {
+        if (!container.hasAny(profile.getSpreadablePredicate())) {
+            return -1; // Nothing in this section can match, e.g. all air or foreign terrain
+        }
+
+        for (int y = fromY; y >= toY; y--) {
+            BlockState state = container.get(x & 15, y & 15, z & 15);
+
+            if (!state.isAir() && profile.canCorrupt(state)) {
+                return y;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Number of capped block-entity corruption blocks in a chunk section
+     */
+    int countCappedBlockEntities(int chunkX, int sectionY, int chunkZ);
+
+    /**
+     * Number of capped block-entity corruption blocks in a whole chunk
+     */
+    int countCappedBlockEntities(int chunkX, int chunkZ);
+
+    default BlockState getBlockState(BlockPos pos) {
+        return getBlockState(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    default boolean canWrite(BlockPos pos) {
+        return canWrite(pos.getX(), pos.getY(), pos.getZ());
+    }
+}
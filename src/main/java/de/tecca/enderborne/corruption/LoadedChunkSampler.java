@@ -0,0 +1,104 @@
+package de.tecca.enderborne.corruption;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.random.Random;
+
+import java.util.List;
+
+/**
+ * Random-access set of the loaded chunks of one dimension
+ * Packed positions live in a dense array with an index map, so add, remove
+ * (swap with the last entry) and uniform sampling are all O(1) and allocation-free
+ * Kept up to date from chunk load and unload events
+ */
+public class LoadedChunkSampler {
+
+    private final LongArrayList chunks = new LongArrayList();
+    private final Long2IntOpenHashMap indices = new Long2IntOpenHashMap();
+
+    public LoadedChunkSampler() {
+        indices.defaultReturnValue(-1);
+    }
+
+    public void add(long chunkPos) {
+        if (indices.putIfAbsent(chunkPos, chunks.size()) == -1) {
+            chunks.add(chunkPos);
+        }
+    }
+
+    public void remove(long chunkPos) {
+        int index = indices.remove(chunkPos);
+        if (index == -1) {
+            return;
+        }
+
+        // Move the last entry into the gap
+        long last = chunks.removeLong(chunks.size() - 1);
+        if (index < chunks.size()) {
+            chunks.set(index, last);
+            indices.put(last, index);
+        }
+    }
+
+    public int size() {
+        return chunks.size();
+    }
+
+    public boolean isEmpty() {
+        return chunks.isEmpty();
+    }
+
+    public void clear() {
+        chunks.clear();
+        indices.clear();
+    }
+
+    /**
+     * Copy of every loaded chunk position, in no particular order
+     */
+    public long[] toLongArray() {
+        return chunks.toLongArray();
+    }
+
+    /**
+     * Pick a loaded chunk uniformly at random
+     * Must not be called when empty
+     */
+    public long sample(Random random) {
+        return chunks.getLong(random.nextInt(chunks.size()));
+    }
+
+    /**
+     * Pick a loaded chunk biased towards players using two random choices -
+     * of two uniform samples the one nearer to any player wins
+     * Falls back to uniform sampling when there are no players
+     */
+    public long sampleNearPlayers(Random random, List<ServerPlayerEntity> players) {
+        long first = sample(random);
+        if (players.isEmpty()) {
+            return first;
+        }
+
+        long second = sample(random);
+        return distanceToNearest(second, players) < distanceToNearest(first, players) ? second : first;
+    }
+
+    /**
+     * Chebyshev chunk distance to the nearest player, Integer.MAX_VALUE if there are none
+     */
+    public static int distanceToNearest(long chunkPos, List<ServerPlayerEntity> players) {
+        int x = ChunkPos.getPackedX(chunkPos);
+        int z = ChunkPos.getPackedZ(chunkPos);
+        int nearest = Integer.MAX_VALUE;
+
+        for (int i = 0; i < players.size(); i++) {
+            ServerPlayerEntity player = players.get(i);
+            int d = Math.max(Math.abs(x - (player.getBlockX() >> 4)), Math.abs(z - (player.getBlockZ() >> 4)));
+            if (d < nearest) nearest = d;
+        }
+        return nearest;
+    }
+}
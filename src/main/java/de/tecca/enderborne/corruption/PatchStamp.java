@@ -0,0 +1,110 @@
+package de.tecca.enderborne.corruption;
+
+import it.unimi.dsi.fastutil.Arrays;
+
+/**
+ * Precomputed voxel template of a corruption patch
+ * Covers the (2r+1) x 4 x (2r+1) box around a patch center, keeping only cells
+ * with a non-zero chance, sorted by distance with their probability threshold
+ * Offsets are packed into a single int so applying a stamp is a loop over two
+ * primitive arrays with no sqrt or position allocation per block
+ */
+public final class PatchStamp {
+
+    public static final int MIN_RADIUS = 2;
+    public static final int MAX_RADIUS = 5;
+
+    // Vertical extent of a patch relative to its center
+    private static final int MIN_DY = -1;
+    private static final int MAX_DY = 2;
+
+    // Offsets are stored biased into 8 bits per axis
+    private static final int BIAS = 128;
+
+    private final int[] offsets;
+    private final float[] thresholds;
+
+    private PatchStamp(int[] offsets, float[] thresholds) {
+        this.offsets = offsets;
+        this.thresholds = thresholds;
+    }
+
+    /**
+     * Build the stamps of a range of patch radii for one intensity, indexed by
+     * radius - minRadius
+     */
+    public static PatchStamp[] createAll(int minRadius, int maxRadius, float intensity) {
+        PatchStamp[] stamps = new PatchStamp[maxRadius - minRadius + 1];
+        for (int radius = minRadius; radius <= maxRadius; radius++) {
+            stamps[radius - minRadius] = create(radius, intensity);
+        }
+        return stamps;
+    }
+
+    /**
+     * Build the stamp for a single radius and intensity
+     */
+    public static PatchStamp create(int radius, float intensity) {
+        int side = radius * 2 + 1;
+        int capacity = side * side * (MAX_DY - MIN_DY + 1);
+        int[] offsets = new int[capacity];
+        float[] thresholds = new float[capacity];
+        int count = 0;
+
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                for (int y = MIN_DY; y <= MAX_DY; y++) {
+                    // Distance-based corruption probability
+                    double distance = Math.sqrt(x * x + y * y + z * z);
+                    float chance = (float) Math.max(0, intensity * (1.0 - (distance / radius)));
+
+                    if (chance > 0) {
+                        offsets[count] = pack(x, y, z);
+                        thresholds[count] = chance;
+                        count++;
+                    }
+                }
+            }
+        }
+
+        // Highest chance (nearest) first
+        int[] packed = java.util.Arrays.copyOf(offsets, count);
+        float[] chances = java.util.Arrays.copyOf(thresholds, count);
+        Arrays.quickSort(0, count,
+                (a, b) -> Float.compare(chances[b], chances[a]),
+                (a, b) -> {
+                    int offset = packed[a];
+                    packed[a] = packed[b];
+                    packed[b] = offset;
+                    float chance = chances[a];
+                    chances[a] = chances[b];
+                    chances[b] = chance;
+                });
+
+        return new PatchStamp(packed, chances);
+    }
+
+    public int size() {
+        return offsets.length;
+    }
+
+    public float getThreshold(int index) {
+        return thresholds[index];
+    }
+
+    public int getOffsetX(int index) {
+        return (offsets[index] & 0xFF) - BIAS;
+    }
+
+    public int getOffsetY(int index) {
+        return ((offsets[index] >> 8) & 0xFF) - BIAS;
+    }
+
+    public int getOffsetZ(int index) {
+        return ((offsets[index] >> 16) & 0xFF) - BIAS;
+    }
+
+    private static int pack(int x, int y, int z) {
+        return (x + BIAS) | ((y + BIAS) << 8) | ((z + BIAS) << 16);
+    }
+}
@@ -0,0 +1,27 @@
+package de.tecca.enderborne.corruption;
+
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Block revision of a loaded chunk, added to WorldChunk by ChunkRevisionMixin
+ * The revision changes whenever a block in the chunk changes and is drawn from
+ * a global counter, so a reloaded chunk never matches a revision of its
+ * previous instance
+ */
+public interface RevisionedChunk {
+
+    long enderborne$getRevision();
+
+    void enderborne$bumpRevision();
+
+    static long getRevision(WorldChunk chunk) {
+        return ((RevisionedChunk) chunk).enderborne$getRevision();
+    }
+
+    /**
+     * Mark a chunk changed by writes that bypass WorldChunk.setBlockState
+     */
+    static void bump(WorldChunk chunk) {
+        ((RevisionedChunk) chunk).enderborne$bumpRevision();
+    }
+}
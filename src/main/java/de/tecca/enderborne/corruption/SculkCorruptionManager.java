@@ -1,20 +1,24 @@
 package de.tecca.enderborne.corruption;
 
 import de.tecca.enderborne.Enderborne;
+import de.tecca.enderborne.config.EnderborneConfig;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
-import net.minecraft.world.Heightmap;
-import net.minecraft.world.World;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.WorldChunk;
 
-import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Manages sculk corruption spreading throughout dimensions
+ * How heavily each dimension is corrupted comes from its datapack profile
+ * (see CorruptionProfiles); the defaults are
  * End: Heavy corruption (60-80%)
  * Nether: Medium corruption (30-50%)
  * Overworld: Light corruption (10-20%)
@@ -22,9 +26,7 @@ import java.util.Random;
  */
 public class SculkCorruptionManager {
 
-    private static final Random RANDOM = new Random();
-
-    // Corruption blocks to use (all vanilla blocks for Vanilla+ feel)
+    // Blocks that count as corruption (all vanilla blocks for Vanilla+ feel)
     private static final Block[] CORRUPTION_BLOCKS = {
             Blocks.SCULK,
             Blocks.SCULK_VEIN,
@@ -33,273 +35,373 @@ public class SculkCorruptionManager {
             Blocks.SCULK_SHRIEKER
     };
 
-    private static final Block[] SPREADABLE_BLOCKS = {
-            Blocks.STONE, Blocks.DEEPSLATE, Blocks.END_STONE,
-            Blocks.NETHERRACK, Blocks.BLACKSTONE, Blocks.BASALT,
-            Blocks.DIRT, Blocks.GRASS_BLOCK, Blocks.COARSE_DIRT
-    };
+    // Frontier positions a catalyst may corrupt per spread step
+    private static final int SPREAD_GROWTH_PER_STEP = 8;
 
     /**
-     * Apply corruption to a chunk during world generation or chunk loading
+     * Apply corruption to an already generated chunk synchronously
+     * The scheduler uses planChunkCorruptionAsync instead to keep planning off the server thread
      */
     public static void applyChunkCorruption(ServerWorld world, ChunkPos chunkPos) {
-        double corruptionChance = getCorruptionChance(world);
-
-        if (RANDOM.nextDouble() > corruptionChance) {
-            return; // Skip this chunk
+        WorldChunk chunk = getUncorruptedChunk(world, chunkPos);
+        if (chunk == null) {
+            return;
         }
 
-        // Fixed: Use proper chunk access method
-        if (!world.isChunkLoaded(chunkPos.x, chunkPos.z)) {
-            return; // Chunk not loaded, skip
+        CorruptionProfile profile = CorruptionProfiles.get(world.getRegistryKey());
+        Random random = CorruptionRandom.forChunk(world, chunkPos);
+        if (rollChunkCorruption(profile, random)) {
+            CorruptionBatch batch = newBatch();
+            planChunkCorruption(new WorldCorruptionView(world), profile, chunkPos, random, batch);
+
+            // Write all patches of this chunk in one pass
+            batch.apply(world);
         }
 
-        WorldChunk chunk = world.getChunk(chunkPos.x, chunkPos.z);
-        BlockPos chunkStart = chunkPos.getStartPos();
+        markProcessed(chunk);
+    }
 
-        // Apply corruption in patches throughout the chunk
-        int patchCount = RANDOM.nextInt(3) + 1; // 1-3 patches per chunk
+    /**
+     * Snapshot a loaded chunk and plan its corruption on the given executor
+     * Must be called on the server thread; only the palette copy happens here
+     *
+     * @return the planned batch, to be applied on the server thread, or null if
+     * the chunk is not loaded, was already corrupted or lost its chance roll
+     * The caller marks the chunk processed once the batch has been applied
+     */
+    public static CompletableFuture<CorruptionBatch> planChunkCorruptionAsync(ServerWorld world, ChunkPos chunkPos,
+                                                                               Executor executor) {
+        WorldChunk chunk = getUncorruptedChunk(world, chunkPos);
+        if (chunk == null) {
+            return null;
+        }
 
-        for (int patch = 0; patch < patchCount; patch++) {
-            int x = RANDOM.nextInt(16);
-            int z = RANDOM.nextInt(16);
-            int y = findSuitableY(world, chunkStart.add(x, 0, z));
+        // The roll is the first draw of the chunk's own stream, the workers continue it
+        CorruptionProfile profile = CorruptionProfiles.get(world.getRegistryKey());
+        Random random = CorruptionRandom.forChunk(world, chunkPos);
 
-            if (y > 0) {
-                BlockPos centerPos = chunkStart.add(x, y, z);
-                createCorruptionPatch(world, centerPos);
-            }
+        if (!rollChunkCorruption(profile, random)) {
+            markProcessed(chunk);
+            return null;
         }
+
+        ChunkSnapshot snapshot = ChunkSnapshot.of(chunk);
+        BlockEntityCaps caps = getBlockEntityCaps();
+
+        return CompletableFuture.supplyAsync(() -> {
+            CorruptionBatch batch = new CorruptionBatch(caps);
+            planChunkCorruption(snapshot, profile, chunkPos, random, batch);
+            return batch;
+        }, executor);
     }
 
     /**
-     * Get corruption chance based on dimension
+     * Get a loaded chunk that still needs runtime corruption, or null
      */
-    private static double getCorruptionChance(World world) {
-        if (world.getRegistryKey() == World.END) {
-            return 0.75; // 75% chance in End (heavy corruption)
-        } else if (world.getRegistryKey() == World.NETHER) {
-            return 0.40; // 40% chance in Nether (medium corruption)
-        } else if (world.getRegistryKey() == World.OVERWORLD) {
-            return 0.15; // 15% chance in Overworld (light corruption)
+    private static WorldChunk getUncorruptedChunk(ServerWorld world, ChunkPos chunkPos) {
+        WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkPos.x, chunkPos.z);
+        if (chunk == null) {
+            return null; // Chunk not loaded, skip
+        }
+
+        ChunkCorruptionState state = ChunkCorruptionState.getIfPresent(chunk);
+        if (state != null && state.isProcessed()) {
+            return null; // Already corrupted at runtime or during world generation
         }
-        return 0.0;
+        return chunk;
+    }
+
+    /**
+     * Start a batch limited by the configured block-entity caps
+     */
+    public static CorruptionBatch newBatch() {
+        return new CorruptionBatch(getBlockEntityCaps());
+    }
+
+    private static BlockEntityCaps getBlockEntityCaps() {
+        EnderborneConfig config = Enderborne.getConfig();
+        return config != null ? config.getCorruptionBlockEntityCaps() : BlockEntityCaps.UNLIMITED;
     }
 
     /**
-     * Find a suitable Y level for corruption placement
-     * Fixed: Use modern heightmap API
+     * Record that a chunk went through corruption so reloads never roll it again
      */
-    private static int findSuitableY(ServerWorld world, BlockPos pos) {
-        // Fixed: Use getTopPosition instead of deprecated getTopY
-        BlockPos topPos = world.getTopPosition(Heightmap.Type.WORLD_SURFACE, pos);
-        int topY = topPos.getY();
-        int bottomY = world.getBottomY();
-
-        for (int y = topY; y > bottomY; y--) {
-            BlockPos checkPos = new BlockPos(pos.getX(), y, pos.getZ());
-            BlockState state = world.getBlockState(checkPos);
-
-            if (!state.isAir() && canCorrupt(state.getBlock())) {
-                return y;
+    public static void markProcessed(Chunk chunk) {
+        ChunkCorruptionState.get(chunk).markProcessed();
+        chunk.markNeedsSaving();
+    }
+
+    /**
+     * Roll the profile's per-chunk corruption chance
+     * Dimensions without a profile are never corrupted
+     */
+    public static boolean rollChunkCorruption(CorruptionProfile profile, Random random) {
+        return profile != null && random.nextDouble() <= profile.getChance();
+    }
+
+    /**
+     * Plan the corruption patches of one chunk into a batch
+     * Pure with respect to the view and random, so it is safe to run on worker
+     * threads against a ChunkSnapshot as well as on the owning thread of a live world
+     */
+    public static void planChunkCorruption(CorruptionView view, CorruptionProfile profile,
+                                           ChunkPos chunkPos, Random random, CorruptionBatch batch) {
+        BlockPos chunkStart = chunkPos.getStartPos();
+
+        // Apply corruption in patches throughout the chunk
+        int patchCount = random.nextInt(3) + 1; // 1-3 patches per chunk
+
+        for (int patch = 0; patch < patchCount; patch++) {
+            int x = random.nextInt(16);
+            int z = random.nextInt(16);
+            // Topmost corruptible block of the column, skipping sections that cannot match
+            int y = view.findCorruptibleY(chunkStart.getX() + x, chunkStart.getZ() + z, profile);
+
+            if (y > 0) {
+                BlockPos centerPos = chunkStart.add(x, y, z);
+                createCorruptionPatch(view, profile, centerPos, random, batch);
             }
         }
-        return -1; // No suitable location found
     }
 
     /**
      * Create a patch of corruption at the given location
      */
-    private static void createCorruptionPatch(ServerWorld world, BlockPos center) {
-        int patchSize = RANDOM.nextInt(4) + 2; // 2-5 block radius
-        double intensity = getCorruptionIntensity(world);
-
-        for (int x = -patchSize; x <= patchSize; x++) {
-            for (int z = -patchSize; z <= patchSize; z++) {
-                for (int y = -1; y <= 2; y++) {
-                    BlockPos pos = center.add(x, y, z);
-
-                    // Distance-based corruption probability
-                    double distance = Math.sqrt(x*x + y*y + z*z);
-                    double corruptChance = Math.max(0, intensity * (1.0 - (distance / patchSize)));
-
-                    if (RANDOM.nextDouble() < corruptChance) {
-                        tryCorruptBlock(world, pos);
-                    }
-                }
+    static void createCorruptionPatch(CorruptionView view, CorruptionProfile profile, BlockPos center,
+                                      Random random, CorruptionBatch batch) {
+        PatchStamp stamp = profile.pickStamp(random); // 2-5 block radius by default
+
+        long centerPos = center.asLong();
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+
+        for (int i = 0; i < stamp.size(); i++) {
+            if (random.nextFloat() < stamp.getThreshold(i)) {
+                pos.set(BlockPos.add(centerPos, stamp.getOffsetX(i), stamp.getOffsetY(i), stamp.getOffsetZ(i)));
+                tryCorruptBlock(view, profile, pos, random, batch);
             }
         }
 
         // Add a sculk catalyst at the center for spreading mechanics
-        if (RANDOM.nextDouble() < 0.3) { // 30% chance for catalyst
-            if (canPlaceCorruption(world, center)) {
-                world.setBlockState(center, Blocks.SCULK_CATALYST.getDefaultState());
+        if (random.nextDouble() < 0.3) { // 30% chance for catalyst
+            BlockState centerState = batch.getBlockState(view, center);
+            if (canPlaceCorruption(view, center, centerState) && batch.tryReserveBlockEntity(view, center)) {
+                batch.set(center, centerState, Blocks.SCULK_CATALYST.getDefaultState());
             }
         }
     }
 
-    /**
-     * Get corruption intensity based on dimension
-     */
-    private static double getCorruptionIntensity(World world) {
-        if (world.getRegistryKey() == World.END) {
-            return 0.8; // 80% intensity in End
-        } else if (world.getRegistryKey() == World.NETHER) {
-            return 0.5; // 50% intensity in Nether
-        } else if (world.getRegistryKey() == World.OVERWORLD) {
-            return 0.3; // 30% intensity in Overworld
-        }
-        return 0.0;
-    }
-
     /**
      * Attempt to corrupt a single block
+     * Returns whether anything was written to the batch
      */
-    private static void tryCorruptBlock(ServerWorld world, BlockPos pos) {
-        if (!canPlaceCorruption(world, pos)) {
-            return;
+    static boolean tryCorruptBlock(CorruptionView view, CorruptionProfile profile, BlockPos pos,
+                                   Random random, CorruptionBatch batch) {
+        // Read once - pending changes from the same batch take precedence
+        BlockState currentState = batch.getBlockState(view, pos);
+
+        if (!canPlaceCorruption(view, pos, currentState)) {
+            return false;
         }
 
-        BlockState currentState = world.getBlockState(pos);
-        Block corruptionBlock = chooseCorruptionBlock(world, currentState.getBlock());
+        // Weighted pick from the profile's alias table
+        BlockState corruptionState = profile.pickOutput(random);
 
-        if (corruptionBlock != null) {
+        if (corruptionState != null) {
             // Choose appropriate corruption type
-            if (corruptionBlock == Blocks.SCULK_VEIN && !currentState.isAir()) {
+            if (corruptionState.isOf(Blocks.SCULK_VEIN) && !currentState.isAir()) {
                 // Sculk veins can be placed on existing blocks
-                placeCorruptionVein(world, pos);
-            } else if (canReplace(currentState.getBlock())) {
+                return placeCorruptionVein(view, batch, pos);
+            } else if (canReplace(profile, currentState)) {
+                if (BlockEntityCaps.isCapped(corruptionState) && !batch.tryReserveBlockEntity(view, pos)) {
+                    // Section or chunk is full of listeners - plain sculk instead
+                    corruptionState = Blocks.SCULK.getDefaultState();
+                }
+
                 // Replace the block entirely
-                world.setBlockState(pos, corruptionBlock.getDefaultState());
+                batch.set(pos, currentState, corruptionState);
+                return true;
             }
         }
+        return false;
     }
 
     /**
-     * Choose appropriate corruption block based on dimension and existing block
+     * Place sculk veins on existing blocks
      */
-    private static Block chooseCorruptionBlock(World world, Block existingBlock) {
-        if (world.getRegistryKey() == World.END) {
-            // End prefers more dramatic corruption
-            return CORRUPTION_BLOCKS[RANDOM.nextInt(CORRUPTION_BLOCKS.length)];
-        } else if (world.getRegistryKey() == World.NETHER) {
-            // Nether prefers veins and sensors
-            Block[] netherCorruption = {Blocks.SCULK_VEIN, Blocks.SCULK, Blocks.SCULK_SENSOR};
-            return netherCorruption[RANDOM.nextInt(netherCorruption.length)];
-        } else {
-            // Overworld prefers subtle corruption
-            Block[] overworldCorruption = {Blocks.SCULK_VEIN, Blocks.SCULK};
-            return overworldCorruption[RANDOM.nextInt(overworldCorruption.length)];
+    private static boolean placeCorruptionVein(CorruptionView view, CorruptionBatch batch, BlockPos pos) {
+        BlockPos veinPos = pos.up();
+        if (!view.canWrite(veinPos)) {
+            return false;
         }
-    }
 
-    /**
-     * Place sculk veins on existing blocks
-     */
-    private static void placeCorruptionVein(ServerWorld world, BlockPos pos) {
         // Sculk veins can be placed on the surface of blocks
         BlockState veinState = Blocks.SCULK_VEIN.getDefaultState();
-        world.setBlockState(pos.up(), veinState);
+        batch.set(veinPos, batch.getBlockState(view, veinPos), veinState);
+        return true;
     }
 
     /**
      * Check if corruption can be placed at this position
      */
-    private static boolean canPlaceCorruption(ServerWorld world, BlockPos pos) {
-        return world.isInBuildLimit(pos) &&
-                !world.getBlockState(pos).isLiquid() &&
-                world.getWorldBorder().contains(pos);
+    private static boolean canPlaceCorruption(CorruptionView view, BlockPos pos, BlockState state) {
+        return view.canWrite(pos) && !state.isLiquid();
+    }
+
+    /**
+     * Check if a block is one of the corruption blocks
+     */
+    static boolean isCorruption(BlockState state) {
+        return getCorruptionIndex(state) >= 0;
     }
 
     /**
-     * Check if a block can be corrupted/replaced
+     * Index of a corruption block in CORRUPTION_BLOCKS, or -1 for any other block
      */
-    private static boolean canCorrupt(Block block) {
-        for (Block spreadable : SPREADABLE_BLOCKS) {
-            if (block == spreadable) return true;
+    static int getCorruptionIndex(BlockState state) {
+        Block block = state.getBlock();
+        for (int i = 0; i < CORRUPTION_BLOCKS.length; i++) {
+            if (block == CORRUPTION_BLOCKS[i]) return i;
         }
-        return false;
+        return -1;
+    }
+
+    static int getCorruptionBlockCount() {
+        return CORRUPTION_BLOCKS.length;
+    }
+
+    static Block getCorruptionBlock(int index) {
+        return CORRUPTION_BLOCKS[index];
     }
 
     /**
      * Check if a block can be replaced by corruption
      */
-    private static boolean canReplace(Block block) {
-        return block == Blocks.AIR ||
-                block == Blocks.CAVE_AIR ||
-                canCorrupt(block);
+    private static boolean canReplace(CorruptionProfile profile, BlockState state) {
+        return state.isOf(Blocks.AIR) ||
+                state.isOf(Blocks.CAVE_AIR) ||
+                profile.canCorrupt(state);
     }
 
     /**
      * Spread corruption naturally over time (called periodically)
+     * Catalyst chunks are sampled from the scheduler's loaded chunk set,
+     * optionally biased towards chunks near players, and spread according to
+     * their distance tier (see getSpreadSteps)
      */
-    public static void spreadCorruptionNaturally(ServerWorld world) {
-        if (RANDOM.nextDouble() < 0.1) { // 10% chance per call
+    public static void spreadCorruptionNaturally(ServerWorld world, LoadedChunkSampler loadedChunks,
+                                                 EnderborneConfig config) {
+        if (loadedChunks.isEmpty()) {
+            return;
+        }
+
+        Random random = CorruptionRandom.forSpread(world);
+
+        if (random.nextDouble() < 0.1) { // 10% chance per call
             // Find random sculk catalyst and spread from it
-            ChunkPos randomChunk = getRandomLoadedChunk(world);
-            if (randomChunk != null) {
-                findAndSpreadFromCatalyst(world, randomChunk);
-            }
+            long chunkPos = config.isCorruptionSpreadNearPlayers()
+                    ? loadedChunks.sampleNearPlayers(random, world.getPlayers())
+                    : loadedChunks.sample(random);
+            findAndSpreadFromCatalyst(world, chunkPos, random, config);
         }
     }
 
     /**
-     * Get a random loaded chunk
-     * Fixed: Use proper loaded chunk access
+     * Pick an active sculk catalyst in a chunk and spread corruption from it
      */
-    private static ChunkPos getRandomLoadedChunk(ServerWorld world) {
-        // Get loaded chunks from the world's chunk manager
-        var loadedChunks = world.getChunkManager().getLoadedChunks();
-        if (loadedChunks.isEmpty()) {
-            return null;
+    private static void findAndSpreadFromCatalyst(ServerWorld world, long chunkPos, Random random,
+                                                  EnderborneConfig config) {
+        int chunkX = ChunkPos.getPackedX(chunkPos);
+        int chunkZ = ChunkPos.getPackedZ(chunkPos);
+        WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkX, chunkZ);
+        if (chunk == null) {
+            return;
         }
 
-        // Convert to array and pick random
-        ChunkPos[] chunksArray = loadedChunks.toArray(new ChunkPos[0]);
-        return chunksArray[RANDOM.nextInt(chunksArray.length)];
+        ChunkCorruptionState state = ChunkCorruptionState.getIfPresent(chunk);
+        if (state == null || state.getCatalystCount() == 0) {
+            return; // No active catalysts
+        }
+
+        int steps = getSpreadSteps(world, chunkPos, state, config);
+        if (steps == 0) {
+            return;
+        }
+
+        CorruptionView view = new WorldCorruptionView(world);
+        int catalysts = state.getCatalystCount();
+        BlockPos catalystPos = CatalystIndex.pickRandom(view, state, random);
+        if (state.getCatalystCount() != catalysts) {
+            chunk.markNeedsSaving(); // Stale entries were dropped
+        }
+
+        if (catalystPos != null) {
+            state.setLastSpreadTick(world.getTime());
+            chunk.markNeedsSaving();
+            spreadFromCatalyst(world, view, state.getFrontier(catalystPos.asLong()), catalystPos, random, steps);
+        }
     }
 
     /**
-     * Find sculk catalysts in a chunk and spread corruption from them
+     * Number of spread steps a chunk should take now, by distance to the nearest player
+     * Near: within simulation distance - spreads whenever sampled
+     * Mid: up to midRangeChunks further out - spreads at most once per interval
+     * Far: frozen, its missed time is caught up once a player comes closer
+     * Steps missed since the last spread are made up in one batch, capped
      */
-    private static void findAndSpreadFromCatalyst(ServerWorld world, ChunkPos chunkPos) {
-        BlockPos start = chunkPos.getStartPos();
-
-        for (int x = 0; x < 16; x++) {
-            for (int z = 0; z < 16; z++) {
-                // Fixed: Use getTopPosition for height calculation
-                BlockPos topPos = world.getTopPosition(Heightmap.Type.WORLD_SURFACE, start.add(x, 0, z));
-                int maxY = topPos.getY();
-
-                for (int y = world.getBottomY(); y < maxY; y++) {
-                    BlockPos pos = start.add(x, y, z);
-                    if (world.getBlockState(pos).getBlock() == Blocks.SCULK_CATALYST) {
-                        // Spread corruption from this catalyst
-                        spreadFromCatalyst(world, pos);
-                        return; // Only spread from one catalyst per call
-                    }
-                }
-            }
+    private static int getSpreadSteps(ServerWorld world, long chunkPos, ChunkCorruptionState state,
+                                      EnderborneConfig config) {
+        int distance = LoadedChunkSampler.distanceToNearest(chunkPos, world.getPlayers());
+        int simulationDistance = world.getServer().getPlayerManager().getSimulationDistance();
+
+        if (distance > simulationDistance + config.getCorruptionMidRangeChunks()) {
+            return 0; // Frozen - nobody is close enough to see it
+        }
+
+        long lastSpread = state.getLastSpreadTick();
+        if (lastSpread == 0) {
+            return 1; // First spread - nothing to catch up on
         }
+
+        long elapsed = world.getTime() - lastSpread;
+        if (distance > simulationDistance && elapsed < config.getCorruptionMidRangeIntervalTicks()) {
+            return 0; // Mid range - wait and take the steps as one batch
+        }
+
+        long missed = elapsed / config.getCorruptionCatchUpIntervalTicks();
+        return (int) Math.max(1, Math.min(config.getCorruptionMaxCatchUpSteps(), missed));
     }
 
     /**
-     * Spread corruption from a sculk catalyst
+     * Grow the frontier of a sculk catalyst by the given number of steps
+     * Catalysts with nothing left to corrupt go dormant until a nearby block changes
      */
-    private static void spreadFromCatalyst(ServerWorld world, BlockPos catalystPos) {
-        int range = 3; // 3 block range
-
-        for (int x = -range; x <= range; x++) {
-            for (int z = -range; z <= range; z++) {
-                for (int y = -range; y <= range; y++) {
-                    if (RANDOM.nextDouble() < 0.1) { // 10% chance per block
-                        BlockPos targetPos = catalystPos.add(x, y, z);
-                        tryCorruptBlock(world, targetPos);
-                    }
-                }
-            }
+    private static void spreadFromCatalyst(ServerWorld world, CorruptionView view, CatalystFrontier frontier,
+                                           BlockPos catalystPos, Random random, int steps) {
+        CorruptionProfile profile = CorruptionProfiles.get(world.getRegistryKey());
+        if (profile == null) {
+            return;
         }
 
-        Enderborne.LOGGER.debug("Spread corruption from catalyst at {}", catalystPos);
+        CorruptionBatch batch = newBatch();
+        planCatalystSpread(view, profile, frontier, random, steps, batch);
+
+        int changed = batch.apply(world);
+        Enderborne.LOGGER.debug("Spread corruption from catalyst at {} ({} blocks)", catalystPos, changed);
+
+        if (frontier.isExhausted()) {
+            CatalystIndex.markDormant(world, catalystPos);
+            Enderborne.LOGGER.debug("Catalyst at {} has no frontier left and went dormant", catalystPos);
+        }
+    }
+
+    /**
+     * Plan the given number of spread steps of one catalyst's frontier into a batch
+     * World-independent, so it runs against any CorruptionView
+     *
+     * @return the number of positions that were corrupted
+     */
+    static int planCatalystSpread(CorruptionView view, CorruptionProfile profile, CatalystFrontier frontier,
+                                  Random random, int steps, CorruptionBatch batch) {
+        return frontier.step(view, profile, random, batch, SPREAD_GROWTH_PER_STEP * steps);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package de.tecca.enderborne.corruption;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.WorldView;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.ChunkStatus;
+
+/**
+ * Corruption view backed directly by a live world or a generating chunk region
+ * Only safe to use from the thread that owns the world
+ */
+public class WorldCorruptionView implements CorruptionView {
+
+    private final WorldView world;
+    private final BlockPos.Mutable mutable = new BlockPos.Mutable();
+
+    public WorldCorruptionView(WorldView world) {
+        this.world = world;
+    }
+
+    @Override
+    public BlockState getBlockState(int x, int y, int z) {
+        return world.getBlockState(mutable.set(x, y, z));
+    }
+
+    @Override
+    public int getSurfaceY(int x, int z) {
+        return world.getTopY(Heightmap.Type.WORLD_SURFACE, x, z);
+    }
+
+    /**
+     * Scans the chunk's sections top-down, skipping empty ones and those whose
+     * palette holds no corruptible state; falls back to block reads if the
+     * chunk is not available without loading it
+     */
+    @Override
+    public int findCorruptibleY(int x, int z, CorruptionProfile profile) {
+        Chunk chunk = world.getChunk(x >> 4, z >> 4, ChunkStatus.EMPTY, false);
+        if (chunk == null) {
+            return CorruptionView.super.findCorruptibleY(x, z, profile);
+        }
+
+        int topY = getSurfaceY(x, z);
+        int bottomY = world.getBottomY();
+        ChunkSection[] sections = chunk.getSectionArray();
+
+        for (int index = Math.min(chunk.getSectionIndex(topY), sections.length - 1); index >= 0; index--) {
+            ChunkSection section = sections[index];
+            if (section.isEmpty()) {
+                continue; // All air
+            }
+
+            int sectionBottom = chunk.sectionIndexToCoord(index) << 4;
+            int fromY = Math.min(topY, sectionBottom + 15);
+            int toY = Math.max(bottomY + 1, sectionBottom);
+
+            int y = CorruptionView.findCorruptibleY(section.getBlockStateContainer(), x, z, fromY, toY, profile);
+            if (y != -1) {
+                return y;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int countCappedBlockEntities(int chunkX, int sectionY, int chunkZ) {
+        Chunk chunk = world.getChunk(chunkX, chunkZ, ChunkStatus.EMPTY, false);
+        if (chunk == null) {
+            return 0;
+        }
+
+        int index = chunk.sectionCoordToIndex(sectionY);
+        ChunkSection[] sections = chunk.getSectionArray();
+        if (index < 0 || index >= sections.length || sections[index].isEmpty()) {
+            return 0;
+        }
+        return BlockEntityCaps.count(sections[index].getBlockStateContainer());
+    }
+
+    @Override
+    public int countCappedBlockEntities(int chunkX, int chunkZ) {
+        Chunk chunk = world.getChunk(chunkX, chunkZ, ChunkStatus.EMPTY, false);
+        if (chunk == null) {
+            return 0;
+        }
+
+        int total = 0;
+        for (ChunkSection section : chunk.getSectionArray()) {
+            if (!section.isEmpty()) {
+                total += BlockEntityCaps.count(section.getBlockStateContainer());
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int getBottomY() {
+        return world.getBottomY();
+    }
+
+    @Override
+    public boolean canWrite(int x, int y, int z) {
+        return !world.isOutOfHeightLimit(y) && world.getWorldBorder().contains(mutable.set(x, y, z));
+    }
+}
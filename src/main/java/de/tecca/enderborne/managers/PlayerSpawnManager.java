@@ -1,6 +1,7 @@
 package de.tecca.enderborne.managers;
 
 import de.tecca.enderborne.Enderborne;
+import de.tecca.enderborne.spawn.EndSpawnSearch;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
@@ -8,6 +9,8 @@ import net.minecraft.text.Text;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
+import java.util.function.Consumer;
+
 /**
  * Manages player spawning and teleportation in the Enderborne mod
  * Uses modern Fabric Data Attachment API for persistent data
@@ -41,22 +44,30 @@ public class PlayerSpawnManager {
 
     /**
      * Teleport a player to the End islands (not the main dragon island)
+     * The spawn search runs over the next ticks without blocking the server;
+     * the player is held in place until it finds a spot
+     *
+     * @param onArrival called once the player has been teleported
      */
-    public void teleportToEndIslands(ServerPlayerEntity player) {
+    public void teleportToEndIslands(ServerPlayerEntity player, Consumer<ServerPlayerEntity> onArrival) {
         MinecraftServer server = player.getServer();
         if (server == null) {
             Enderborne.LOGGER.error("Cannot teleport player {}: server is null", player.getName().getString());
             return;
         }
 
-        ServerWorld endWorld = server.getWorld(World.END);
-        if (endWorld == null) {
+        if (server.getWorld(World.END) == null) {
             Enderborne.LOGGER.error("Cannot teleport player {}: End dimension not available", player.getName().getString());
             return;
         }
 
-        BlockPos spawnPos = findSafeEndSpawn(endWorld);
+        EndSpawnSearch.start(player, onArrival);
+    }
 
+    /**
+     * Teleport a player to a spawn point found in the End
+     */
+    public boolean teleportToEndSpawn(ServerPlayerEntity player, ServerWorld endWorld, BlockPos spawnPos) {
         try {
             // Use the correct teleport method for 1.21.8
             boolean success = player.teleport(endWorld,
@@ -74,74 +85,15 @@ public class PlayerSpawnManager {
                 Enderborne.LOGGER.warn("Teleport returned false for player {} to End islands",
                         player.getName().getString());
             }
+            return success;
 
         } catch (Exception e) {
             Enderborne.LOGGER.error("Failed to teleport player {} to End islands: {}",
                     player.getName().getString(), e.getMessage());
+            return false;
         }
     }
 
-    /**
-     * Find a safe spawn location in the End, away from the main dragon island
-     */
-    private BlockPos findSafeEndSpawn(ServerWorld endWorld) {
-        int attempts = 0;
-        int maxAttempts = 50;
-
-        while (attempts < maxAttempts) {
-            // Generate coordinates away from main island (0,0)
-            // End islands typically generate between 1000-2000 blocks from center
-            int x = endWorld.getRandom().nextInt(1000) + 1000; // 1000-2000 blocks away
-            int z = endWorld.getRandom().nextInt(1000) + 1000;
-
-            // Randomly choose direction
-            if (endWorld.getRandom().nextBoolean()) x = -x;
-            if (endWorld.getRandom().nextBoolean()) z = -z;
-
-            // Find a safe Y level
-            BlockPos testPos = findGroundLevel(endWorld, new BlockPos(x, 100, z));
-
-            if (testPos != null && isSafeSpawnLocation(endWorld, testPos)) {
-                return testPos.up(); // Spawn one block above ground
-            }
-
-            attempts++;
-        }
-
-        // Fallback to a known safe location
-        Enderborne.LOGGER.warn("Could not find safe End spawn after {} attempts, using fallback location", maxAttempts);
-        return new BlockPos(1000, 50, 1000);
-    }
-
-    /**
-     * Find the ground level at a given XZ coordinate
-     */
-    private BlockPos findGroundLevel(ServerWorld world, BlockPos startPos) {
-        // Search downward from Y=100 to find solid ground
-        for (int y = startPos.getY(); y > 0; y--) {
-            BlockPos checkPos = new BlockPos(startPos.getX(), y, startPos.getZ());
-
-            // Check if this is solid ground with air above
-            if (!world.getBlockState(checkPos).isAir() &&
-                    world.getBlockState(checkPos.up()).isAir() &&
-                    world.getBlockState(checkPos.up(2)).isAir()) {
-                return checkPos;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Check if a location is safe for spawning
-     */
-    private boolean isSafeSpawnLocation(ServerWorld world, BlockPos pos) {
-        // Basic safety checks
-        return !world.getBlockState(pos).isAir() && // Solid ground
-                world.getBlockState(pos.up()).isAir() && // Clear head space
-                world.getBlockState(pos.up(2)).isAir() && // Clear above head
-                world.getFluidState(pos).isEmpty(); // Not in liquid
-    }
-
     /**
      * Send welcome message to new players
      */
@@ -0,0 +1,47 @@
+package de.tecca.enderborne.mixin;
+
+import de.tecca.enderborne.corruption.RevisionedChunk;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.WorldChunk;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gives every loaded chunk a block revision that changes with each block change
+ * Lets cached per-chunk results (e.g. the corruption census) tell when they are stale
+ */
+@Mixin(WorldChunk.class)
+public class ChunkRevisionMixin implements RevisionedChunk {
+
+    @Unique
+    private static final AtomicLong REVISIONS = new AtomicLong();
+
+    @Unique
+    private long enderborne$revision = REVISIONS.incrementAndGet();
+
+    /**
+     * setBlockState returns null when nothing changed
+     */
+    @Inject(method = "setBlockState", at = @At("RETURN"))
+    private void bumpOnChange(BlockPos pos, BlockState state, int flags, CallbackInfoReturnable<BlockState> cir) {
+        if (cir.getReturnValue() != null) {
+            enderborne$bumpRevision();
+        }
+    }
+
+    @Override
+    public long enderborne$getRevision() {
+        return enderborne$revision;
+    }
+
+    @Override
+    public void enderborne$bumpRevision() {
+        enderborne$revision = REVISIONS.incrementAndGet();
+    }
+}
@@ -0,0 +1,84 @@
+package de.tecca.enderborne.mixin;
+
+import de.tecca.enderborne.Enderborne;
+import de.tecca.enderborne.config.EnderborneConfig;
+import de.tecca.enderborne.corruption.ChunkCorruptionState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.SculkSensorBlockEntity;
+import net.minecraft.block.entity.SculkShriekerBlockEntity;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.event.GameEvent;
+import net.minecraft.world.event.Vibrations;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Dormant mode for sculk sensors and shriekers placed by corruption
+ * Their vibration listener ignores every game event while no player is within
+ * the configured radius, and wakes up again once one comes close
+ * Player range is re-checked at most once a second per listener
+ */
+@Mixin(Vibrations.VibrationListener.class)
+public class DormantVibrationListenerMixin {
+
+    @Unique
+    private static final int CHECK_INTERVAL_TICKS = 20;
+
+    // 0 = not checked yet, 1 = placed by corruption, 2 = placed by someone else
+    @Unique
+    private byte enderborne$placedByCorruption;
+
+    @Unique
+    private boolean enderborne$dormant;
+
+    @Unique
+    private long enderborne$nextCheckTick = Long.MIN_VALUE;
+
+    @Shadow
+    @Final
+    private Vibrations receiver;
+
+    /**
+     * Drop game events before any range or occlusion work while dormant
+     */
+    @Inject(method = "listen", at = @At("HEAD"), cancellable = true)
+    private void skipWhileDormant(ServerWorld world, RegistryEntry<GameEvent> event, GameEvent.Emitter emitter,
+                                  Vec3d emitterPos, CallbackInfoReturnable<Boolean> cir) {
+        // Only sensors and shriekers, never wardens, allays or other listeners
+        if (!(receiver instanceof SculkSensorBlockEntity) && !(receiver instanceof SculkShriekerBlockEntity)) {
+            return;
+        }
+
+        BlockPos pos = ((BlockEntity) receiver).getPos();
+
+        if (enderborne$placedByCorruption == 0) {
+            ChunkCorruptionState state = ChunkCorruptionState.getIfPresent(world.getChunk(pos));
+            enderborne$placedByCorruption = state != null && state.isPlaced(pos.getX(), pos.getY(), pos.getZ())
+                    ? (byte) 1 : (byte) 2;
+        }
+        if (enderborne$placedByCorruption != 1) {
+            return;
+        }
+
+        long time = world.getTime();
+        if (time >= enderborne$nextCheckTick) {
+            enderborne$nextCheckTick = time + CHECK_INTERVAL_TICKS;
+
+            EnderborneConfig config = Enderborne.getConfig();
+            int radius = config != null ? config.getCorruptionListenerWakeRadius() : 32;
+            enderborne$dormant = !world.isPlayerInRange(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5, radius);
+        }
+
+        if (enderborne$dormant) {
+            cir.setReturnValue(false);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package de.tecca.enderborne.mixin;
 
 import de.tecca.enderborne.Enderborne;
+import de.tecca.enderborne.corruption.CleansingWave;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.boss.dragon.EnderDragonEntity;
 import net.minecraft.entity.damage.DamageSource;
@@ -69,6 +70,9 @@ public class DragonDefeatMixin {
 
         // Create global effects for the victory
         createGlobalVictoryEffects(world, dragon.getBlockPos());
+
+        // The corruption weakens - start reverting it outwards from the main island
+        CleansingWave.start(world);
     }
 
     /**
@@ -0,0 +1,123 @@
+package de.tecca.enderborne.spawn;
+
+import de.tecca.enderborne.Enderborne;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ChunkTicketType;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Loads chunks for spawn searches without blocking the server thread
+ * A request adds a portal ticket, as vanilla does before a teleport, and the
+ * chunk system loads or generates the chunk in the background; the returned
+ * future is completed on the server thread once the chunk is fully loaded, or
+ * exceptionally if it is not ready within the configured timeout
+ * Portal tickets expire on their own after 300 ticks, so abandoned requests
+ * leak nothing; a request with a longer timeout renews its ticket until the
+ * chunk is loaded or the request times out
+ */
+public final class ChunkRequests {
+
+    // Renew tickets well before the 300 tick portal ticket expiry
+    private static final int TICKET_RENEW_TICKS = 200;
+
+    // Pending requests by dimension and packed ChunkPos
+    private static final Map<RegistryKey<World>, Long2ObjectMap<Request>> pending = new HashMap<>();
+
+    private ChunkRequests() {
+    }
+
+    public static void register() {
+        ServerTickEvents.END_SERVER_TICK.register(ChunkRequests::onServerTick);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> pending.clear());
+    }
+
+    /**
+     * Request a chunk to be loaded, sharing the future with earlier requests for it
+     * Already loaded chunks complete immediately
+     */
+    public static CompletableFuture<WorldChunk> request(ServerWorld world, ChunkPos pos) {
+        WorldChunk loaded = world.getChunkManager().getWorldChunk(pos.x, pos.z);
+        if (loaded != null) {
+            return CompletableFuture.completedFuture(loaded);
+        }
+
+        Long2ObjectMap<Request> requests = pending.computeIfAbsent(world.getRegistryKey(),
+                key -> new Long2ObjectOpenHashMap<>());
+        Request request = requests.get(pos.toLong());
+        if (request == null) {
+            world.getChunkManager().addTicket(ChunkTicketType.PORTAL, pos, 0);
+
+            int now = world.getServer().getTicks();
+            request = new Request(now + Enderborne.getConfig().getSpawnChunkTimeoutTicks(), now);
+            requests.put(pos.toLong(), request);
+        }
+        return request.future;
+    }
+
+    /**
+     * Number of chunks requested but not loaded yet, across all dimensions
+     */
+    public static int getPendingCount() {
+        int count = 0;
+        for (Long2ObjectMap<Request> requests : pending.values()) {
+            count += requests.size();
+        }
+        return count;
+    }
+
+    /**
+     * Complete requests whose chunk finished loading and fail the ones out of time
+     */
+    private static void onServerTick(MinecraftServer server) {
+        for (Map.Entry<RegistryKey<World>, Long2ObjectMap<Request>> entry : pending.entrySet()) {
+            ServerWorld world = server.getWorld(entry.getKey());
+
+            Iterator<Long2ObjectMap.Entry<Request>> iterator = entry.getValue().long2ObjectEntrySet().iterator();
+            while (iterator.hasNext()) {
+                Long2ObjectMap.Entry<Request> request = iterator.next();
+                WorldChunk chunk = world != null ? world.getChunkManager().getWorldChunk(
+                        ChunkPos.getPackedX(request.getLongKey()), ChunkPos.getPackedZ(request.getLongKey())) : null;
+
+                if (chunk != null) {
+                    iterator.remove();
+                    request.getValue().future.complete(chunk);
+                } else if (world == null || server.getTicks() >= request.getValue().deadline) {
+                    iterator.remove();
+                    request.getValue().future.completeExceptionally(new TimeoutException(
+                            "Chunk " + new ChunkPos(request.getLongKey()) + " did not load in time"));
+                } else if (server.getTicks() - request.getValue().ticketTick >= TICKET_RENEW_TICKS) {
+                    request.getValue().ticketTick = server.getTicks();
+                    world.getChunkManager().addTicket(ChunkTicketType.PORTAL, new ChunkPos(request.getLongKey()), 0);
+                }
+            }
+        }
+    }
+
+    private static final class Request {
+
+        final CompletableFuture<WorldChunk> future = new CompletableFuture<>();
+        final int deadline;
+
+        // Server tick the portal ticket was last added
+        int ticketTick;
+
+        Request(int deadline, int ticketTick) {
+            this.deadline = deadline;
+            this.ticketTick = ticketTick;
+        }
+    }
+}
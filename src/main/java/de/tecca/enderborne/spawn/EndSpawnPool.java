@@ -0,0 +1,165 @@
+package de.tecca.enderborne.spawn;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import de.tecca.enderborne.Enderborne;
+import de.tecca.enderborne.config.EnderborneConfig;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.PersistentState;
+import net.minecraft.world.PersistentStateType;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pool of verified safe spawn points in the End, saved with the world
+ * Refilled in the background one predicted island at a time, only while the
+ * server has tick time to spare and no chunk requests are backed up, so a new
+ * player usually gets a spawn from the pool instead of a search
+ * Each entry remembers the surface height of its column; a spawn is only
+ * handed out again if that height and the blocks around it are unchanged
+ */
+public class EndSpawnPool extends PersistentState {
+
+    private static final Codec<Entry> ENTRY_CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            Codec.LONG.fieldOf("ground").forGetter(entry -> entry.ground().asLong()),
+            Codec.INT.fieldOf("surface_y").forGetter(Entry::surfaceY)
+    ).apply(instance, (ground, surfaceY) -> new Entry(BlockPos.fromLong(ground), surfaceY)));
+
+    public static final Codec<EndSpawnPool> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            ENTRY_CODEC.listOf().optionalFieldOf("entries", List.of()).forGetter(pool -> new ArrayList<>(pool.entries))
+    ).apply(instance, EndSpawnPool::new));
+
+    private static final PersistentStateType<EndSpawnPool> TYPE = new PersistentStateType<>(
+            Enderborne.MOD_ID + "_spawn_pool", EndSpawnPool::new, CODEC, null);
+
+    // Oldest entries are handed out first
+    private final Deque<Entry> entries;
+
+    // Candidate column being predicted or verified for the pool, never saved
+    private CompletableFuture<BlockPos> refillPrediction;
+    private BlockPos refillColumn;
+    private CompletableFuture<WorldChunk> refillChunk;
+
+    public EndSpawnPool() {
+        this(List.of());
+    }
+
+    private EndSpawnPool(List<Entry> entries) {
+        this.entries = new ArrayDeque<>(entries);
+    }
+
+    public static void register() {
+        ServerTickEvents.END_SERVER_TICK.register(EndSpawnPool::onServerTick);
+    }
+
+    public static EndSpawnPool get(ServerWorld world) {
+        return world.getPersistentStateManager().getOrCreate(TYPE);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Take the oldest spawn point out of the pool, or null if it is empty
+     * It still has to pass isStillSafe once its chunk is loaded
+     */
+    public Entry poll() {
+        Entry entry = entries.pollFirst();
+        if (entry != null) {
+            markDirty();
+        }
+        return entry;
+    }
+
+    /**
+     * Check a pooled spawn against its loaded chunk
+     * The cached surface height rules out anything built or broken above the
+     * column without scanning it; the spot itself is then checked directly
+     */
+    public static boolean isStillSafe(WorldChunk chunk, Entry entry) {
+        BlockPos ground = entry.ground();
+        return chunk.sampleHeightmap(Heightmap.Type.WORLD_SURFACE, ground.getX(), ground.getZ()) == entry.surfaceY()
+                && EndSpawnSearch.isSafeSpawnLocation(chunk, ground);
+    }
+
+    private static void onServerTick(MinecraftServer server) {
+        EnderborneConfig config = Enderborne.getConfig();
+        ServerWorld endWorld = server.getWorld(World.END);
+        if (endWorld == null || config.getSpawnPoolSize() == 0) {
+            return;
+        }
+
+        EndSpawnPool pool = get(endWorld);
+        if (pool.refillPrediction != null || pool.refillChunk != null
+                || pool.entries.size() < config.getSpawnPoolSize()) {
+            pool.refill(server, endWorld, config);
+        }
+    }
+
+    /**
+     * Predict and verify one candidate at a time while the server is quiet
+     */
+    private void refill(MinecraftServer server, ServerWorld endWorld, EnderborneConfig config) {
+        if (refillPrediction == null && refillChunk == null) {
+            boolean quiet = server.getAverageNanosPerTick() < config.getSpawnPoolRefillMaxMspt() * 1_000_000L
+                    && ChunkRequests.getPendingCount() == 0;
+            if (!quiet) {
+                return;
+            }
+
+            refillPrediction = IslandPredictor.predict(endWorld, endWorld.getRandom(),
+                    config.getSpawnPredictionColumns());
+        }
+
+        if (refillChunk == null) {
+            if (!refillPrediction.isDone()) {
+                return;
+            }
+
+            refillColumn = refillPrediction.isCompletedExceptionally() ? null : refillPrediction.join();
+            refillPrediction = null;
+            if (refillColumn == null) {
+                return; // Only void in this batch
+            }
+            refillChunk = ChunkRequests.request(endWorld, new ChunkPos(refillColumn));
+        }
+        if (!refillChunk.isDone()) {
+            return;
+        }
+
+        WorldChunk chunk = refillChunk.isCompletedExceptionally() ? null : refillChunk.join();
+        refillChunk = null;
+        if (chunk == null) {
+            return; // Too slow to load - try another column later
+        }
+
+        BlockPos ground = EndSpawnSearch.findSafeGround(chunk, refillColumn.getX(), refillColumn.getZ());
+        if (ground != null) {
+            entries.addLast(new Entry(ground,
+                    chunk.sampleHeightmap(Heightmap.Type.WORLD_SURFACE, ground.getX(), ground.getZ())));
+            markDirty();
+            Enderborne.LOGGER.debug("Added End spawn {} to the pool ({} entries)", ground, entries.size());
+        }
+    }
+
+    /**
+     * A verified spawn point
+     *
+     * @param ground   the block the player stands on
+     * @param surfaceY WORLD_SURFACE height of the column when it was verified
+     */
+    public record Entry(BlockPos ground, int surfaceY) {
+    }
+}
@@ -0,0 +1,361 @@
+package de.tecca.enderborne.spawn;
+
+import de.tecca.enderborne.Enderborne;
+import de.tecca.enderborne.config.EnderborneConfig;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.effect.StatusEffect;
+import net.minecraft.entity.effect.StatusEffectInstance;
+import net.minecraft.entity.effect.StatusEffects;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
+import net.minecraft.world.gen.feature.EndPlatformFeature;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous search for a safe spawn point on the outer End islands
+ * Spawns from the EndSpawnPool are tried first, then random columns that the
+ * IslandPredictor expects to hold an island
+ * Candidate chunks are loaded through ChunkRequests and only inspected once
+ * they are ready, so a search never loads or generates chunks on the server
+ * thread; each search has one candidate in flight at a time
+ * The player waits where they are, kept safe by slow falling and resistance,
+ * until the search teleports them; only the effects the search added are
+ * removed again, so effects they already had are kept
+ * Searches are admitted from a queue in start order, a few per tick and up to
+ * a fixed number at once; admitted searches keep predicting but hold their
+ * next chunk request while spawn.maxPendingChunks loads are pending, so a
+ * burst of joins is spread over ticks instead of all loading chunks at once;
+ * queued players see their position in the action bar
+ */
+public class EndSpawnSearch {
+
+    // Last resort once every attempt missed, given an obsidian platform if needed
+    private static final BlockPos FALLBACK = new BlockPos(1000, 50, 1000);
+
+    // Highest block a spawn may stand on
+    private static final int SEARCH_TOP_Y = 100;
+
+    // Length of the waiting effects, renewed while the search runs
+    private static final int HOLD_TICKS = 100;
+
+    // How often queued players are shown their position, the action bar fades after a few seconds
+    private static final int QUEUE_MESSAGE_TICKS = 20;
+
+    // Queued and running searches by player, in start order
+    private static final Map<UUID, EndSpawnSearch> searches = new LinkedHashMap<>();
+
+    private final UUID playerId;
+    private Consumer<ServerPlayerEntity> onArrival;
+
+    // Waiting effects this search added, the only ones it removes again
+    private final Set<RegistryEntry<StatusEffect>> heldEffects = new HashSet<>();
+
+    private boolean admitted;
+    private int queuePosition;
+
+    private int attempts;
+    private int candidateX;
+    private int candidateZ;
+    private EndSpawnPool.Entry candidateEntry;
+    private boolean candidateReady;
+    private CompletableFuture<BlockPos> prediction;
+    private CompletableFuture<WorldChunk> candidateChunk;
+
+    private EndSpawnSearch(UUID playerId, Consumer<ServerPlayerEntity> onArrival) {
+        this.playerId = playerId;
+        this.onArrival = onArrival;
+    }
+
+    public static void register() {
+        ServerTickEvents.END_SERVER_TICK.register(EndSpawnSearch::onServerTick);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> searches.clear());
+    }
+
+    /**
+     * Start searching a spawn for a player and hold them until it is found
+     * A player who is already waiting keeps their search, with the new callback
+     *
+     * @param onArrival called on the server thread right after the teleport
+     */
+    public static void start(ServerPlayerEntity player, Consumer<ServerPlayerEntity> onArrival) {
+        EndSpawnSearch search = searches.get(player.getUuid());
+        if (search != null) {
+            search.onArrival = onArrival;
+        } else {
+            search = new EndSpawnSearch(player.getUuid(), onArrival);
+            searches.put(player.getUuid(), search);
+        }
+
+        search.hold(player);
+        player.sendMessage(Text.literal("§7§oThe End is reaching for you..."), true);
+    }
+
+    public static boolean isSearching(ServerPlayerEntity player) {
+        return searches.containsKey(player.getUuid());
+    }
+
+    /**
+     * Stop a player's search, e.g. when they leave, and lift the waiting effects
+     */
+    public static void cancel(ServerPlayerEntity player) {
+        EndSpawnSearch search = searches.remove(player.getUuid());
+        if (search != null) {
+            search.release(player);
+        }
+    }
+
+    private static void onServerTick(MinecraftServer server) {
+        if (searches.isEmpty()) {
+            return;
+        }
+
+        EnderborneConfig config = Enderborne.getConfig();
+        ServerWorld endWorld = server.getWorld(World.END);
+
+        int running = 0;
+        for (EndSpawnSearch search : searches.values()) {
+            if (search.admitted) running++;
+        }
+
+        int admissions = 0;
+        int queued = 0;
+        Iterator<EndSpawnSearch> iterator = searches.values().iterator();
+        while (iterator.hasNext()) {
+            EndSpawnSearch search = iterator.next();
+            ServerPlayerEntity player = server.getPlayerManager().getPlayer(search.playerId);
+            if (player == null) {
+                if (search.admitted) running--;
+                iterator.remove(); // Left the server
+                continue;
+            }
+
+            if (!search.admitted) {
+                if (running < config.getSpawnMaxConcurrentSearches()
+                        && admissions < config.getSpawnAdmissionsPerTick()) {
+                    search.admitted = true;
+                    running++;
+                    admissions++;
+                } else {
+                    search.waitInQueue(player, ++queued, server.getTicks());
+                    continue;
+                }
+            }
+
+            if (search.tick(player, endWorld, config)) {
+                running--;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Hold a queued player and tell them where they are in line
+     */
+    private void waitInQueue(ServerPlayerEntity player, int position, int tick) {
+        hold(player);
+        if (position != queuePosition || tick % QUEUE_MESSAGE_TICKS == 0) {
+            queuePosition = position;
+            player.sendMessage(Text.literal("§7Waiting to enter the End - §fposition " + position
+                    + "§7 in queue"), true);
+        }
+    }
+
+    /**
+     * Check the candidate in flight or request the next one
+     *
+     * @return true once the search is over
+     */
+    private boolean tick(ServerPlayerEntity player, ServerWorld endWorld, EnderborneConfig config) {
+        if (endWorld == null) {
+            Enderborne.LOGGER.error("Cannot teleport player {}: End dimension not available",
+                    player.getName().getString());
+            release(player);
+            return true;
+        }
+
+        hold(player);
+
+        if (candidateChunk == null) {
+            if (!candidateReady) {
+                if (!nextCandidate(endWorld)) {
+                    return false; // Still predicting
+                }
+                candidateReady = true;
+            }
+            if (ChunkRequests.getPendingCount() >= config.getSpawnMaxPendingChunks()) {
+                return false; // Enough chunks loading already - keep the candidate and wait for a slot
+            }
+            candidateReady = false;
+            candidateChunk = ChunkRequests.request(endWorld, new ChunkPos(candidateX >> 4, candidateZ >> 4));
+        }
+        if (!candidateChunk.isDone()) {
+            return false; // Still loading - check again next tick
+        }
+
+        // Done futures never block; a timed out chunk counts as a miss
+        WorldChunk chunk = candidateChunk.isCompletedExceptionally() ? null : candidateChunk.join();
+        candidateChunk = null;
+
+        BlockPos spawnPos = null;
+        if (isFallback()) {
+            if (chunk == null) {
+                return false; // Retry the fallback chunk
+            }
+            Enderborne.LOGGER.warn("Could not find safe End spawn after {} attempts, using fallback location",
+                    getMaxAttempts());
+            if (!isSafeSpawnLocation(chunk, FALLBACK.down())) {
+                EndPlatformFeature.generate(endWorld, FALLBACK, true);
+            }
+            spawnPos = FALLBACK;
+        } else if (candidateEntry != null) {
+            if (chunk != null && EndSpawnPool.isStillSafe(chunk, candidateEntry)) {
+                spawnPos = candidateEntry.ground().up();
+            }
+        } else if (chunk != null) {
+            BlockPos ground = findSafeGround(chunk, candidateX, candidateZ);
+            if (ground != null) {
+                spawnPos = ground.up(); // Spawn one block above ground
+            }
+        }
+
+        if (spawnPos == null) {
+            attempts++;
+            return false;
+        }
+
+        release(player);
+        if (Enderborne.getSpawnManager().teleportToEndSpawn(player, endWorld, spawnPos)) {
+            onArrival.accept(player);
+        }
+        return true;
+    }
+
+    /**
+     * Take the next pooled spawn, else a predicted island column, or the fallback
+     *
+     * @return false while the prediction is still running
+     */
+    private boolean nextCandidate(ServerWorld endWorld) {
+        candidateEntry = null;
+        BlockPos column;
+
+        if (isFallback()) {
+            column = FALLBACK;
+        } else if (prediction == null && (candidateEntry = EndSpawnPool.get(endWorld).poll()) != null) {
+            column = candidateEntry.ground();
+        } else {
+            if (prediction == null) {
+                prediction = IslandPredictor.predict(endWorld, endWorld.getRandom(),
+                        Enderborne.getConfig().getSpawnPredictionColumns());
+            }
+            if (!prediction.isDone()) {
+                return false;
+            }
+
+            column = prediction.isCompletedExceptionally() ? null : prediction.join();
+            prediction = null;
+            if (column == null) {
+                attempts++; // The whole batch was void
+                return false;
+            }
+        }
+
+        candidateX = column.getX();
+        candidateZ = column.getZ();
+        return true;
+    }
+
+    /**
+     * Random column away from the main island (0,0)
+     */
+    static BlockPos randomColumn(Random random) {
+        // End islands typically generate between 1000-2000 blocks from center
+        int x = random.nextInt(1000) + 1000;
+        int z = random.nextInt(1000) + 1000;
+
+        // Randomly choose direction
+        if (random.nextBoolean()) x = -x;
+        if (random.nextBoolean()) z = -z;
+        return new BlockPos(x, 0, z);
+    }
+
+    private boolean isFallback() {
+        return attempts >= getMaxAttempts();
+    }
+
+    private static int getMaxAttempts() {
+        return Enderborne.getConfig().getSpawnSearchAttempts();
+    }
+
+    /**
+     * Find solid ground with two blocks of air above in a column of a loaded chunk
+     * Searches downward from SEARCH_TOP_Y; never touches any other chunk
+     */
+    static BlockPos findSafeGround(WorldChunk chunk, int x, int z) {
+        BlockPos.Mutable pos = new BlockPos.Mutable(x, SEARCH_TOP_Y, z);
+        for (int y = SEARCH_TOP_Y; y > chunk.getBottomY(); y--) {
+            pos.setY(y);
+            if (isSafeSpawnLocation(chunk, pos)) {
+                return pos.toImmutable();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check if a location is safe for spawning
+     */
+    static boolean isSafeSpawnLocation(WorldChunk chunk, BlockPos pos) {
+        BlockState ground = chunk.getBlockState(pos);
+        return !ground.isAir() && // Solid ground
+                ground.getFluidState().isEmpty() && // Not in liquid
+                chunk.getBlockState(pos.up()).isAir() && // Clear head space
+                chunk.getBlockState(pos.up(2)).isAir(); // Clear above head
+    }
+
+    /**
+     * Keep a waiting player from falling or being hurt, renewing the effects as they run out
+     */
+    private void hold(ServerPlayerEntity player) {
+        renew(player, StatusEffects.SLOW_FALLING, 0);
+        renew(player, StatusEffects.RESISTANCE, 4);
+    }
+
+    /**
+     * Add or renew a waiting effect
+     * An effect the player already had, e.g. from a potion or beacon, is only
+     * replaced once it is about to run out, and from then on counts as held
+     */
+    private void renew(ServerPlayerEntity player, RegistryEntry<StatusEffect> effect, int amplifier) {
+        StatusEffectInstance current = player.getStatusEffect(effect);
+        if (current == null || current.getDuration() < HOLD_TICKS / 2) {
+            player.addStatusEffect(new StatusEffectInstance(effect, HOLD_TICKS, amplifier, false, false));
+            heldEffects.add(effect);
+        }
+    }
+
+    private void release(ServerPlayerEntity player) {
+        for (RegistryEntry<StatusEffect> effect : heldEffects) {
+            player.removeStatusEffect(effect);
+        }
+        heldEffects.clear();
+    }
+}
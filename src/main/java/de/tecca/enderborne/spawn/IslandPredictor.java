@@ -0,0 +1,58 @@
+package de.tecca.enderborne.spawn;
+
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Util;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.gen.chunk.ChunkGenerator;
+import net.minecraft.world.gen.noise.NoiseConfig;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Predicts where the outer End islands are from the world's own terrain noise
+ * The chunk generator can evaluate the height of any column from its density
+ * functions without loading or generating a chunk, so random columns are
+ * screened here first and only those predicted to hold an island are loaded
+ * for real verification
+ * Columns are drawn on the server thread, since the world random is not thread
+ * safe, and evaluated on the worldgen worker pool
+ */
+public final class IslandPredictor {
+
+    // Thinnest predicted island worth loading a chunk for
+    private static final int MIN_ISLAND_HEIGHT = 8;
+
+    private IslandPredictor() {
+    }
+
+    /**
+     * Screen a batch of random columns away from the main island
+     *
+     * @return a future of the first column predicted to hold an island, with y
+     * set to its predicted surface, or of null if the whole batch is void
+     */
+    public static CompletableFuture<BlockPos> predict(ServerWorld world, Random random, int columns) {
+        BlockPos[] candidates = new BlockPos[columns];
+        for (int i = 0; i < columns; i++) {
+            candidates[i] = EndSpawnSearch.randomColumn(random);
+        }
+
+        ChunkGenerator generator = world.getChunkManager().getChunkGenerator();
+        NoiseConfig noiseConfig = world.getChunkManager().getNoiseConfig();
+        int minY = world.getBottomY() + MIN_ISLAND_HEIGHT;
+
+        return CompletableFuture.supplyAsync(() -> {
+            for (BlockPos column : candidates) {
+                // Terrain height straight from the noise - the bottom of the world over void
+                int surfaceY = generator.getHeightOnGround(column.getX(), column.getZ(),
+                        Heightmap.Type.WORLD_SURFACE_WG, world, noiseConfig);
+                if (surfaceY >= minY) {
+                    return column.withY(surfaceY);
+                }
+            }
+            return null;
+        }, Util.getMainWorkerExecutor());
+    }
+}
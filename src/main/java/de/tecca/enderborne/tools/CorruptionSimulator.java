@@ -0,0 +1,300 @@
+package de.tecca.enderborne.tools;
+
+import de.tecca.enderborne.Enderborne;
+import de.tecca.enderborne.corruption.ArrayCorruptionView;
+import de.tecca.enderborne.corruption.BlockEntityCaps;
+import de.tecca.enderborne.corruption.CorruptionProfile;
+import de.tecca.enderborne.corruption.CorruptionProfiles;
+import de.tecca.enderborne.corruption.CorruptionSimulation;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.noise.SimplexNoiseSampler;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.PalettedContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Command line entrypoint that simulates corruption spreading over time
+ * Runs the runtime patch and catalyst rules of each dimension profile against
+ * a square of chunks around the origin, either generated synthetically or
+ * imported from the region files of a world, and reports the block updates,
+ * listener block entities and coverage they would cause
+ *
+ * Usage: CorruptionSimulator [--dimension id]... [--ticks n] [--radius chunks]
+ * [--seed n] [--threads n] [--steps n] [--intervals n] [--bursts n]
+ * [--world dir] [--max-per-section n] [--max-per-chunk n]
+ *
+ * Like RegionCorruptor it runs without Fabric on the bundled profiles, so block
+ * tags in them are ignored
+ */
+public final class CorruptionSimulator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Enderborne.MOD_ID);
+
+    private static final int TICKS_PER_HOUR = 72000;
+
+    private CorruptionSimulator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        List<RegistryKey<World>> dimensions = new ArrayList<>();
+        int ticks = TICKS_PER_HOUR;
+        int radius = 8;
+        long seed = 0L;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int steps = 1;
+        int intervals = 12;
+        int bursts = 10;
+        Path worldDir = null;
+        int maxPerSection = 4;
+        int maxPerChunk = 16;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--dimension" -> dimensions.add(RegistryKey.of(RegistryKeys.WORLD, Identifier.of(value)));
+                case "--ticks" -> ticks = Math.max(1, Integer.parseInt(value));
+                case "--radius" -> radius = Math.max(0, Integer.parseInt(value));
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--threads" -> threads = Math.max(1, Integer.parseInt(value));
+                case "--steps" -> steps = Math.max(1, Integer.parseInt(value));
+                case "--intervals" -> intervals = Math.max(1, Integer.parseInt(value));
+                case "--bursts" -> bursts = Math.max(0, Integer.parseInt(value));
+                case "--world" -> worldDir = Path.of(value);
+                case "--max-per-section" -> maxPerSection = Integer.parseInt(value);
+                case "--max-per-chunk" -> maxPerChunk = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+            i++;
+        }
+
+        if (dimensions.isEmpty()) {
+            dimensions = List.of(World.OVERWORLD, World.NETHER, World.END);
+        }
+
+        BlockEntityCaps caps = new BlockEntityCaps(maxPerSection, maxPerChunk);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (RegistryKey<World> dimension : dimensions) {
+                CorruptionProfile profile = CorruptionProfiles.loadBundled(dimension);
+                CorruptionSimulation simulation = new CorruptionSimulation(dimension, seed, profile, caps);
+
+                if (worldDir != null) {
+                    importChunks(simulation, RegionCorruptor.getRegionDir(worldDir, dimension), radius);
+                } else {
+                    generateChunks(simulation, dimension, seed, radius);
+                }
+
+                LOGGER.info("Simulating {} ticks of {} over {} chunks", ticks, dimension.getValue(),
+                        simulation.getChunkCount());
+                long started = System.nanoTime();
+                CorruptionSimulation.Report report = simulation.run(ticks, steps, intervals, bursts, executor);
+
+                print(report, (System.nanoTime() - started) / 1_000_000L);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void print(CorruptionSimulation.Report report, long millis) {
+        LOGGER.info("=== {} - {} chunks, {} ticks ({} h), simulated in {} ms ===", report.dimension().getValue(),
+                report.chunks(), report.ticks(), String.format("%.1f", report.ticks() / (double) TICKS_PER_HOUR),
+                millis);
+
+        LOGGER.info("Load corruption: {} of {} chunks corrupted, {} blocks, {} listener block entities",
+                report.corruptedChunks(), report.chunks(), report.loadBlocks(), report.loadBlockEntities());
+        LOGGER.info("Spreading: {} spreads of {} rolls, {} blocks, {} blocks/tick on average",
+                report.spreads(), report.spreadAttempts(), report.spreadBlocks(),
+                String.format("%.3f", report.spreadBlocks() / (double) report.ticks()));
+
+        LOGGER.info("Over time (slices of {} ticks):", report.sliceTicks());
+        for (int i = 0; i < report.sliceBlocks().length; i++) {
+            LOGGER.info("  until tick {}: {} blocks changed ({} blocks/tick), {} listener block entities",
+                    Math.min(report.ticks(), (i + 1) * report.sliceTicks()), report.sliceBlocks()[i],
+                    String.format("%.3f", report.sliceBlocks()[i] / (double) report.sliceTicks()),
+                    report.sliceBlockEntities()[i]);
+        }
+
+        if (!report.bursts().isEmpty()) {
+            LOGGER.info("Largest bursts:");
+            for (CorruptionSimulation.Burst burst : report.bursts()) {
+                LOGGER.info("  tick {}: {} blocks in chunk [{}, {}]", burst.tick(), burst.blocks(),
+                        burst.chunkPos().x, burst.chunkPos().z);
+            }
+        }
+
+        StringBuilder blocks = new StringBuilder();
+        for (int i = 0; i < report.blocks().length; i++) {
+            if (report.blocks()[i] > 0) {
+                blocks.append(blocks.isEmpty() ? "" : ", ").append(report.blocks()[i]).append(' ')
+                        .append(report.getBlockName(i));
+            }
+        }
+        LOGGER.info("Final coverage: {}% of {} land columns topped by corruption ({})",
+                String.format("%.1f", report.getCoverage() * 100), report.landColumns(),
+                blocks.isEmpty() ? "no corruption" : blocks);
+    }
+
+    /**
+     * Fill the simulation with noise terrain resembling the dimension
+     */
+    private static void generateChunks(CorruptionSimulation simulation, RegistryKey<World> dimension, long seed,
+                                       int radius) {
+        SimplexNoiseSampler noise = new SimplexNoiseSampler(Random.create(seed));
+
+        for (int chunkX = -radius; chunkX <= radius; chunkX++) {
+            for (int chunkZ = -radius; chunkZ <= radius; chunkZ++) {
+                ArrayCorruptionView view = new ArrayCorruptionView(chunkX, chunkZ, 1, 1, 0,
+                        dimension == World.NETHER ? 128 : 256);
+
+                for (int x = view.getMinX(); x < view.getMinX() + 16; x++) {
+                    for (int z = view.getMinZ(); z < view.getMinZ() + 16; z++) {
+                        generateColumn(view, dimension, noise, x, z);
+                    }
+                }
+                simulation.addChunk(new ChunkPos(chunkX, chunkZ), view);
+            }
+        }
+    }
+
+    private static void generateColumn(ArrayCorruptionView view, RegistryKey<World> dimension,
+                                       SimplexNoiseSampler noise, int x, int z) {
+        double height = noise.sample(x / 48.0, z / 48.0);
+
+        if (dimension == World.END) {
+            // Islands where the noise is high, thickest at their middle
+            if (height > 0.1) {
+                int thickness = (int) (height * 40);
+                int top = 60 + (int) (noise.sample(x / 16.0, z / 16.0) * 3);
+                fill(view, x, z, top - thickness, top, Blocks.END_STONE.getDefaultState());
+            }
+        } else if (dimension == World.NETHER) {
+            // Lava sea floor with a netherrack ceiling
+            int floor = 32 + (int) (height * 16);
+            fill(view, x, z, 1, floor, Blocks.NETHERRACK.getDefaultState());
+            fill(view, x, z, floor + 1, 31, Blocks.LAVA.getDefaultState());
+            fill(view, x, z, 100 + (int) (noise.sample(x / 24.0, z / 24.0) * 8), 127,
+                    Blocks.NETHERRACK.getDefaultState());
+        } else {
+            // Rolling hills with a soil layer, water in the valleys
+            int top = 64 + (int) (height * 12);
+            fill(view, x, z, 1, top - 4, Blocks.STONE.getDefaultState());
+            fill(view, x, z, top - 3, top - 1, Blocks.DIRT.getDefaultState());
+            view.setBlockState(x, top, z, top < 62 ? Blocks.SAND.getDefaultState()
+                    : Blocks.GRASS_BLOCK.getDefaultState());
+            fill(view, x, z, top + 1, 62, Blocks.WATER.getDefaultState());
+        }
+    }
+
+    private static void fill(ArrayCorruptionView view, int x, int z, int fromY, int toY, BlockState state) {
+        for (int y = fromY; y <= toY; y++) {
+            view.setBlockState(x, y, z, state);
+        }
+    }
+
+    /**
+     * Fill the simulation with the full chunks of a world within the radius
+     */
+    private static void importChunks(CorruptionSimulation simulation, Path regionDir, int radius) throws IOException {
+        int minRegion = -radius >> 5;
+        int maxRegion = radius >> 5;
+
+        for (int regionX = minRegion; regionX <= maxRegion; regionX++) {
+            for (int regionZ = minRegion; regionZ <= maxRegion; regionZ++) {
+                Path region = regionDir.resolve("r." + regionX + "." + regionZ + ".mca");
+                if (!Files.exists(region)) {
+                    continue;
+                }
+
+                try (RegionFileReader reader = new RegionFileReader(region)) {
+                    for (int i = 0; i < RegionFileReader.CHUNKS; i++) {
+                        int chunkX = (regionX << 5) + (i & 31);
+                        int chunkZ = (regionZ << 5) + (i >> 5);
+                        if (Math.abs(chunkX) > radius || Math.abs(chunkZ) > radius) {
+                            continue;
+                        }
+
+                        RegionFileReader.RawChunk raw;
+                        try {
+                            raw = reader.readRaw(i);
+                        } catch (IOException e) {
+                            LOGGER.warn("Skipping unreadable chunk in {}: {}", region.getFileName(), e.getMessage());
+                            continue;
+                        }
+                        if (raw == null || !raw.isDecodable()) {
+                            continue;
+                        }
+
+                        ArrayCorruptionView view = toView(raw.decode(), chunkX, chunkZ);
+                        if (view != null) {
+                            simulation.addChunk(new ChunkPos(chunkX, chunkZ), view);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (simulation.getChunkCount() == 0) {
+            LOGGER.warn("No full chunks within {} chunks of the origin in {}", radius, regionDir);
+        }
+    }
+
+    /**
+     * Copy the blocks of a chunk into a view, or null if it is not fully generated
+     */
+    private static ArrayCorruptionView toView(NbtCompound chunk, int chunkX, int chunkZ) {
+        if (!OfflineChunkCorruptor.FULL_STATUS.equals(chunk.getString("Status", ""))) {
+            return null;
+        }
+
+        OfflineChunkCorruptor.Sections sections = OfflineChunkCorruptor.Sections.decode(chunk);
+        if (sections == null) {
+            return null;
+        }
+
+        PalettedContainer<BlockState>[] containers = sections.containers();
+        ArrayCorruptionView view = new ArrayCorruptionView(chunkX, chunkZ, 1, 1, sections.bottomY(),
+                containers.length << 4);
+
+        for (int i = 0; i < containers.length; i++) {
+            PalettedContainer<BlockState> container = containers[i];
+            if (!container.hasAny(state -> !state.isAir())) {
+                continue;
+            }
+
+            int baseY = sections.bottomY() + (i << 4);
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        BlockState state = container.get(x, y, z);
+                        if (!state.isAir()) {
+                            view.setBlockState(view.getMinX() + x, baseY + y, view.getMinZ() + z, state);
+                        }
+                    }
+                }
+            }
+        }
+        return view;
+    }
+}
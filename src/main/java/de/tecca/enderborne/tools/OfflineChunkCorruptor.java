@@ -0,0 +1,297 @@
+package de.tecca.enderborne.tools;
+
+import com.mojang.serialization.Codec;
+import de.tecca.enderborne.Enderborne;
+import de.tecca.enderborne.corruption.BlockEntityCaps;
+import de.tecca.enderborne.corruption.ChunkCorruptionState;
+import de.tecca.enderborne.corruption.ChunkSnapshot;
+import de.tecca.enderborne.corruption.CorruptionBatch;
+import de.tecca.enderborne.corruption.CorruptionProfile;
+import de.tecca.enderborne.corruption.CorruptionRandom;
+import de.tecca.enderborne.corruption.SculkCorruptionManager;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.PalettedContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs the runtime chunk corruption rules against serialized chunk NBT
+ * Uses the same per-chunk random stream, profile and planner as the server, so
+ * a chunk corrupted offline ends up exactly as it would after loading
+ * Only full chunks are touched; proto chunks still get the worldgen feature later
+ * Safe to share between threads, every call works on its own chunk
+ */
+public class OfflineChunkCorruptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Enderborne.MOD_ID);
+
+    // Same block state codec the game uses for chunk sections
+    private static final Codec<PalettedContainer<BlockState>> BLOCK_STATE_CODEC =
+            PalettedContainer.createPalettedContainerCodec(Block.STATE_IDS, BlockState.CODEC,
+                    PalettedContainer.PaletteProvider.BLOCK_STATE, Blocks.AIR.getDefaultState());
+
+    // Where Fabric stores persistent attachments in chunk NBT
+    private static final String ATTACHMENTS_KEY = "fabric:attachments";
+    private static final String CORRUPTION_KEY = Enderborne.MOD_ID + ":chunk_corruption";
+
+    static final String FULL_STATUS = "minecraft:full";
+
+    private final long worldSeed;
+    private final RegistryKey<World> dimension;
+    private final CorruptionProfile profile;
+    private final BlockEntityCaps caps;
+
+    private final Map<Block, String> blockEntityIds = new ConcurrentHashMap<>();
+
+    public OfflineChunkCorruptor(long worldSeed, RegistryKey<World> dimension, CorruptionProfile profile,
+                                 BlockEntityCaps caps) {
+        this.worldSeed = worldSeed;
+        this.dimension = dimension;
+        this.profile = profile;
+        this.caps = caps;
+    }
+
+    /**
+     * Corrupt a chunk in place
+     *
+     * @return SKIPPED if the NBT was left untouched, otherwise whether blocks changed
+     */
+    public Result process(NbtCompound chunk) {
+        if (!FULL_STATUS.equals(chunk.getString("Status", ""))) {
+            return Result.SKIPPED;
+        }
+
+        NbtCompound attachments = chunk.getCompoundOrEmpty(ATTACHMENTS_KEY);
+        ChunkCorruptionState state = readState(attachments);
+        if (state.isProcessed()) {
+            return Result.SKIPPED; // Already corrupted at runtime, by worldgen or a previous run
+        }
+
+        ChunkPos chunkPos = new ChunkPos(chunk.getInt("xPos", 0), chunk.getInt("zPos", 0));
+        Random random = CorruptionRandom.forChunk(worldSeed, dimension, chunkPos);
+
+        int changed = 0;
+        if (SculkCorruptionManager.rollChunkCorruption(profile, random)) {
+            Sections sections = Sections.decode(chunk);
+            if (sections == null) {
+                LOGGER.warn("Skipping chunk {} with undecodable sections", chunkPos);
+                return Result.SKIPPED;
+            }
+
+            CorruptionBatch batch = new CorruptionBatch(caps);
+            ChunkSnapshot view = ChunkSnapshot.of(chunkPos, sections.bottomY(), sections.nonEmpty());
+            SculkCorruptionManager.planChunkCorruption(view, profile, chunkPos, random, batch);
+
+            changed = writeChanges(chunk, sections, batch, state);
+        }
+
+        state.markProcessed();
+        attachments.put(CORRUPTION_KEY, ChunkCorruptionState.CODEC.encodeStart(NbtOps.INSTANCE, state).getOrThrow());
+        chunk.put(ATTACHMENTS_KEY, attachments);
+
+        if (changed == 0) {
+            return Result.UNCHANGED;
+        }
+
+        // Let the server rebuild heightmaps and light when the chunk is next loaded
+        chunk.remove("Heightmaps");
+        chunk.putBoolean("isLightOn", false);
+        return Result.CORRUPTED;
+    }
+
+    private static ChunkCorruptionState readState(NbtCompound attachments) {
+        NbtElement element = attachments.get(CORRUPTION_KEY);
+        if (element == null) {
+            return new ChunkCorruptionState();
+        }
+        return ChunkCorruptionState.CODEC.parse(NbtOps.INSTANCE, element).result()
+                .orElseGet(ChunkCorruptionState::new);
+    }
+
+    /**
+     * Write the planned changes into the decoded sections and block entity list
+     */
+    private int writeChanges(NbtCompound chunk, Sections sections, CorruptionBatch batch, ChunkCorruptionState state) {
+        boolean[] dirty = new boolean[sections.containers().length];
+        LongOpenHashSet changedPositions = new LongOpenHashSet();
+        LongArrayList newBlockEntities = new LongArrayList();
+
+        batch.forEachChange((pos, newState) -> {
+            int x = BlockPos.unpackLongX(pos);
+            int y = BlockPos.unpackLongY(pos);
+            int z = BlockPos.unpackLongZ(pos);
+
+            int index = (y >> 4) - (sections.bottomY() >> 4);
+            if (index < 0 || index >= dirty.length) {
+                return;
+            }
+
+            BlockState previous = sections.containers()[index].swapUnsafe(x & 15, y & 15, z & 15, newState);
+            if (previous == newState) {
+                return;
+            }
+
+            dirty[index] = true;
+            changedPositions.add(pos);
+            state.markPlaced(x, y, z, previous.isAir());
+
+            if (newState.isOf(Blocks.SCULK_CATALYST)) {
+                state.addCatalyst(pos);
+            }
+            if (newState.hasBlockEntity()) {
+                newBlockEntities.add(pos);
+            }
+        });
+
+        for (int i = 0; i < dirty.length; i++) {
+            if (dirty[i]) {
+                sections.tags()[i].put("block_states",
+                        BLOCK_STATE_CODEC.encodeStart(NbtOps.INSTANCE, sections.containers()[i]).getOrThrow());
+            }
+        }
+
+        if (!changedPositions.isEmpty()) {
+            writeBlockEntities(chunk, changedPositions, newBlockEntities, sections);
+        }
+        return changedPositions.size();
+    }
+
+    /**
+     * Drop block entities of replaced blocks and add empty ones for new
+     * sensors, shriekers and catalysts - the game fills in their defaults
+     */
+    private void writeBlockEntities(NbtCompound chunk, LongOpenHashSet changedPositions,
+                                    LongArrayList newBlockEntities, Sections sections) {
+        NbtList blockEntities = chunk.getListOrEmpty("block_entities");
+
+        blockEntities.removeIf(element -> element instanceof NbtCompound entity
+                && changedPositions.contains(BlockPos.asLong(
+                entity.getInt("x", 0), entity.getInt("y", 0), entity.getInt("z", 0))));
+
+        for (int i = 0; i < newBlockEntities.size(); i++) {
+            long pos = newBlockEntities.getLong(i);
+            int y = BlockPos.unpackLongY(pos);
+            BlockState state = sections.containers()[(y >> 4) - (sections.bottomY() >> 4)]
+                    .get(BlockPos.unpackLongX(pos) & 15, y & 15, BlockPos.unpackLongZ(pos) & 15);
+
+            String id = getBlockEntityId(state);
+            if (id == null) {
+                continue;
+            }
+
+            NbtCompound entity = new NbtCompound();
+            entity.putString("id", id);
+            entity.putInt("x", BlockPos.unpackLongX(pos));
+            entity.putInt("y", y);
+            entity.putInt("z", BlockPos.unpackLongZ(pos));
+            entity.putBoolean("keepPacked", false);
+            blockEntities.add(entity);
+        }
+
+        chunk.put("block_entities", blockEntities);
+    }
+
+    private String getBlockEntityId(BlockState state) {
+        return blockEntityIds.computeIfAbsent(state.getBlock(), block -> {
+            for (BlockEntityType<?> type : Registries.BLOCK_ENTITY_TYPE) {
+                if (type.supports(state)) {
+                    return Registries.BLOCK_ENTITY_TYPE.getId(type).toString();
+                }
+            }
+            return null;
+        });
+    }
+
+    public enum Result {
+        SKIPPED,
+        UNCHANGED,
+        CORRUPTED
+    }
+
+    /**
+     * Decoded block sections of a chunk, indexed from the bottom section up
+     *
+     * @param containers decoded containers, never null inside the world height
+     * @param tags       the section compounds they were read from
+     */
+    record Sections(int bottomY, PalettedContainer<BlockState>[] containers, NbtCompound[] tags) {
+
+        @SuppressWarnings("unchecked")
+        static Sections decode(NbtCompound chunk) {
+            NbtList list = chunk.getListOrEmpty("sections");
+
+            // Light-only sections above and below the world have no block states
+            int minSection = Integer.MAX_VALUE;
+            int maxSection = Integer.MIN_VALUE;
+            for (NbtElement element : list) {
+                if (element instanceof NbtCompound section && section.contains("block_states")) {
+                    int y = section.getByte("Y", (byte) 0);
+                    minSection = Math.min(minSection, y);
+                    maxSection = Math.max(maxSection, y);
+                }
+            }
+            if (minSection > maxSection) {
+                return null;
+            }
+
+            int count = maxSection - minSection + 1;
+            PalettedContainer<BlockState>[] containers = new PalettedContainer[count];
+            NbtCompound[] tags = new NbtCompound[count];
+
+            for (NbtElement element : list) {
+                if (!(element instanceof NbtCompound section) || !section.contains("block_states")) {
+                    continue;
+                }
+
+                int index = section.getByte("Y", (byte) 0) - minSection;
+                PalettedContainer<BlockState> container = BLOCK_STATE_CODEC
+                        .parse(NbtOps.INSTANCE, section.getCompoundOrEmpty("block_states")).result().orElse(null);
+                if (container == null) {
+                    return null;
+                }
+
+                containers[index] = container;
+                tags[index] = section;
+            }
+
+            for (int i = 0; i < count; i++) {
+                if (containers[i] == null) {
+                    return null; // Gap in the section list
+                }
+            }
+            return new Sections(minSection << 4, containers, tags);
+        }
+
+        /**
+         * Containers with all-air sections replaced by null, as ChunkSnapshot expects
+         */
+        @SuppressWarnings("unchecked")
+        PalettedContainer<BlockState>[] nonEmpty() {
+            PalettedContainer<BlockState>[] result = new PalettedContainer[containers.length];
+            for (int i = 0; i < containers.length; i++) {
+                if (containers[i].hasAny(state -> !state.isAir())) {
+                    result[i] = containers[i];
+                }
+            }
+            return result;
+        }
+    }
+}
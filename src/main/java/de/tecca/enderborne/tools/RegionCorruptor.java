@@ -0,0 +1,294 @@
+package de.tecca.enderborne.tools;
+
+import de.tecca.enderborne.Enderborne;
+import de.tecca.enderborne.corruption.BlockEntityCaps;
+import de.tecca.enderborne.corruption.CorruptionProfile;
+import de.tecca.enderborne.corruption.CorruptionProfileData;
+import de.tecca.enderborne.corruption.CorruptionProfiles;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtSizeTracker;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.util.Identifier;
+import net.minecraft.world.World;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Command line entrypoint that corrupts a pre-generated dimension on disk
+ * Each region file is rewritten by one worker thread, chunk by chunk, into a
+ * temporary file that atomically replaces the original once complete
+ * Finished regions are appended to a checkpoint file so an interrupted run
+ * picks up where it stopped
+ * Holds the world's session.lock for the whole run, like a server does, and
+ * refuses to start while a server or another run has the world open
+ *
+ * Usage: RegionCorruptor <world dir> <dimension> [--threads n] [--seed n]
+ * [--profile file.json] [--max-per-section n] [--max-per-chunk n]
+ *
+ * Runs without Fabric - the mod initializer is never loaded, so the profile is
+ * read from the mod resources (or --profile) and block tags in it are ignored
+ */
+public final class RegionCorruptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Enderborne.MOD_ID);
+
+    private static final String CHECKPOINT_FILE = "enderborne-corruption.checkpoint";
+
+    // Same lock file and content as vanilla's SessionLock
+    private static final String SESSION_LOCK_FILE = "session.lock";
+    private static final String SESSION_LOCK_CONTENT = "\u2603";
+
+    private final Path regionDir;
+    private final OfflineChunkCorruptor corruptor;
+    private final Path checkpoint;
+
+    private final AtomicLong corruptedChunks = new AtomicLong();
+    private final AtomicLong processedChunks = new AtomicLong();
+
+    private RegionCorruptor(Path regionDir, OfflineChunkCorruptor corruptor) {
+        this.regionDir = regionDir;
+        this.corruptor = corruptor;
+        this.checkpoint = regionDir.resolve(CHECKPOINT_FILE);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: RegionCorruptor <world dir> <dimension> [--threads n] [--seed n] "
+                    + "[--profile file.json] [--max-per-section n] [--max-per-chunk n]");
+            System.exit(2);
+        }
+
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        Path worldDir = Path.of(args[0]);
+        RegistryKey<World> dimension = RegistryKey.of(RegistryKeys.WORLD, Identifier.of(args[1]));
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        Long seed = null;
+        Path profileFile = null;
+        int maxPerSection = 4;
+        int maxPerChunk = 16;
+
+        for (int i = 2; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--threads" -> threads = Math.max(1, Integer.parseInt(value));
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--profile" -> profileFile = Path.of(value);
+                case "--max-per-section" -> maxPerSection = Integer.parseInt(value);
+                case "--max-per-chunk" -> maxPerChunk = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+            i++;
+        }
+
+        try (FileChannel lockChannel = FileChannel.open(worldDir.resolve(SESSION_LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock lock = tryLock(lockChannel)) {
+            if (lock == null) {
+                LOGGER.error("{} is in use - stop the server that has the world open and try again", worldDir);
+                System.exit(1);
+            }
+            if (lockChannel.size() == 0) {
+                lockChannel.write(ByteBuffer.wrap(SESSION_LOCK_CONTENT.getBytes(StandardCharsets.UTF_8)));
+                lockChannel.force(true);
+            }
+
+            if (seed == null) {
+                seed = readSeed(worldDir);
+            }
+
+            CorruptionProfile profile = loadProfile(dimension, profileFile);
+            Path regionDir = getRegionDir(worldDir, dimension);
+
+            OfflineChunkCorruptor corruptor = new OfflineChunkCorruptor(seed, dimension, profile,
+                    new BlockEntityCaps(maxPerSection, maxPerChunk));
+            new RegionCorruptor(regionDir, corruptor).run(threads);
+        }
+    }
+
+    /**
+     * Take the session lock without waiting, or null if someone else holds it
+     */
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null; // Held elsewhere in this JVM
+        }
+    }
+
+    private void run(int threads) throws IOException, InterruptedException {
+        Set<String> completed = readCheckpoint();
+
+        List<Path> regions = new ArrayList<>();
+        try (Stream<Path> files = Files.list(regionDir)) {
+            files.filter(path -> path.getFileName().toString().matches("r\\.-?\\d+\\.-?\\d+\\.mca"))
+                    .filter(path -> !completed.contains(path.getFileName().toString()))
+                    .sorted()
+                    .forEach(regions::add);
+        }
+
+        LOGGER.info("Corrupting {} regions in {} ({} already done) on {} threads",
+                regions.size(), regionDir, completed.size(), threads);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (BufferedWriter checkpointWriter = Files.newBufferedWriter(checkpoint, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (Path region : regions) {
+                tasks.add(executor.submit(() -> {
+                    processRegion(region);
+                    markCompleted(checkpointWriter, region);
+                    return null;
+                }));
+            }
+
+            int failed = 0;
+            for (int i = 0; i < tasks.size(); i++) {
+                try {
+                    tasks.get(i).get();
+                } catch (Exception e) {
+                    failed++;
+                    LOGGER.error("Failed to corrupt region {}", regions.get(i).getFileName(), e);
+                }
+            }
+
+            LOGGER.info("Done: {} of {} chunks corrupted, {} regions failed",
+                    corruptedChunks.get(), processedChunks.get(), failed);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Rewrite a single region file, copying through every chunk that is not changed
+     * A chunk that cannot be read fails the whole region, which is then left
+     * untouched and not checkpointed
+     */
+    private void processRegion(Path region) throws IOException {
+        Path temp = region.resolveSibling(region.getFileName() + ".tmp");
+        int corrupted = 0;
+
+        try (RegionFileReader reader = new RegionFileReader(region);
+             RegionFileWriter writer = new RegionFileWriter(temp)) {
+            for (int i = 0; i < RegionFileReader.CHUNKS; i++) {
+                RegionFileReader.RawChunk raw = reader.readRaw(i);
+                if (raw == null) {
+                    continue;
+                }
+
+                int timestamp = reader.getTimestamp(i);
+                if (!raw.isDecodable()) {
+                    writer.writeRaw(i, raw, timestamp);
+                    continue;
+                }
+
+                NbtCompound chunk = raw.decode();
+                OfflineChunkCorruptor.Result result = corruptor.process(chunk);
+                processedChunks.incrementAndGet();
+
+                // Keep the original bytes if nothing changed or the chunk outgrew inline storage
+                if (result == OfflineChunkCorruptor.Result.SKIPPED || !writer.write(i, chunk, timestamp)) {
+                    writer.writeRaw(i, raw, timestamp);
+                } else if (result == OfflineChunkCorruptor.Result.CORRUPTED) {
+                    corrupted++;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, region, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        corruptedChunks.addAndGet(corrupted);
+        LOGGER.info("Corrupted {} chunks in {}", corrupted, region.getFileName());
+    }
+
+    private Set<String> readCheckpoint() throws IOException {
+        Set<String> completed = new HashSet<>();
+        if (Files.exists(checkpoint)) {
+            for (String line : Files.readAllLines(checkpoint, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    completed.add(line.trim());
+                }
+            }
+        }
+        return completed;
+    }
+
+    private static void markCompleted(BufferedWriter writer, Path region) throws IOException {
+        synchronized (writer) {
+            writer.write(region.getFileName().toString());
+            writer.newLine();
+            writer.flush();
+        }
+    }
+
+    private static long readSeed(Path worldDir) throws IOException {
+        NbtCompound level = NbtIo.readCompressed(worldDir.resolve("level.dat"), NbtSizeTracker.ofUnlimitedBytes());
+        return level.getCompoundOrEmpty("Data").getCompoundOrEmpty("WorldGenSettings").getLong("seed")
+                .orElseThrow(() -> new IOException("level.dat has no world seed, pass --seed"));
+    }
+
+    static Path getRegionDir(Path worldDir, RegistryKey<World> dimension) {
+        if (dimension == World.OVERWORLD) {
+            return worldDir.resolve("region");
+        }
+        if (dimension == World.NETHER) {
+            return worldDir.resolve("DIM-1").resolve("region");
+        }
+        if (dimension == World.END) {
+            return worldDir.resolve("DIM1").resolve("region");
+        }
+
+        Identifier id = dimension.getValue();
+        return worldDir.resolve("dimensions").resolve(id.getNamespace()).resolve(id.getPath()).resolve("region");
+    }
+
+    /**
+     * Read the profile from a file, or the one bundled with the mod for the dimension
+     */
+    private static CorruptionProfile loadProfile(RegistryKey<World> dimension, Path file) throws IOException {
+        if (file == null) {
+            return CorruptionProfiles.loadBundled(dimension);
+        }
+
+        Identifier id = dimension.getValue();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            CorruptionProfileData data = CorruptionProfileData.parse(reader)
+                    .getOrThrow(error -> new IOException("Invalid corruption profile: " + error));
+            if (data.dimension() != dimension) {
+                LOGGER.warn("Profile targets {}, applying it to {} anyway", data.dimension().getValue(), id);
+            }
+            return CorruptionProfile.compile(id, data);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package de.tecca.enderborne.tools;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtSizeTracker;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Minimal reader for Anvil region files (.mca) that works without a server
+ * Reads the 8 KiB header once and streams single chunks on demand
+ */
+public class RegionFileReader implements Closeable {
+
+    public static final int SECTOR_BYTES = 4096;
+    public static final int CHUNKS = 1024;
+
+    public static final int COMPRESSION_GZIP = 1;
+    public static final int COMPRESSION_DEFLATE = 2;
+    public static final int COMPRESSION_NONE = 3;
+
+    private final FileChannel channel;
+    private final int[] locations = new int[CHUNKS];
+    private final int[] timestamps = new int[CHUNKS];
+
+    public RegionFileReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        ByteBuffer header = ByteBuffer.allocate(SECTOR_BYTES * 2);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                break; // Truncated or empty region - treat missing entries as absent
+            }
+        }
+        header.flip();
+
+        for (int i = 0; i < CHUNKS && header.limit() >= (i + 1) * 4; i++) {
+            locations[i] = header.getInt(i * 4);
+        }
+        for (int i = 0; i < CHUNKS && header.limit() >= SECTOR_BYTES + (i + 1) * 4; i++) {
+            timestamps[i] = header.getInt(SECTOR_BYTES + i * 4);
+        }
+    }
+
+    public boolean hasChunk(int index) {
+        return locations[index] != 0;
+    }
+
+    public int getTimestamp(int index) {
+        return timestamps[index];
+    }
+
+    /**
+     * Read the raw stored payload of a chunk, or null if it is absent
+     *
+     * @throws IOException if the header entry points at an invalid payload, so
+     *                     callers never mistake a damaged chunk for a missing one
+     */
+    public RawChunk readRaw(int index) throws IOException {
+        int location = locations[index];
+        if (location == 0) {
+            return null;
+        }
+
+        long offset = (long) (location >>> 8) * SECTOR_BYTES;
+        int sectors = location & 0xFF;
+
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(5);
+        readFully(lengthBuffer, offset);
+        lengthBuffer.flip();
+
+        int length = lengthBuffer.getInt();
+        int compression = lengthBuffer.get() & 0xFF;
+        if (length <= 0 || length > sectors * SECTOR_BYTES) {
+            throw new IOException("Chunk " + index + " (" + (index & 31) + ", " + (index >> 5)
+                    + " in region) has invalid length " + length + " for " + sectors + " sectors");
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(length - 1);
+        readFully(payload, offset + 5);
+        return new RawChunk(compression, payload.array());
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Region file ends inside a chunk");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * A chunk payload as stored, with its compression type
+     */
+    public record RawChunk(int compression, byte[] data) {
+
+        /**
+         * Whether this tool can decode the payload (gzip, deflate or none, stored inline)
+         * LZ4 and external .mcc payloads are copied through untouched
+         */
+        public boolean isDecodable() {
+            return compression == COMPRESSION_GZIP || compression == COMPRESSION_DEFLATE
+                    || compression == COMPRESSION_NONE;
+        }
+
+        public NbtCompound decode() throws IOException {
+            InputStream input = new ByteArrayInputStream(data);
+            input = switch (compression) {
+                case COMPRESSION_GZIP -> new GZIPInputStream(input);
+                case COMPRESSION_DEFLATE -> new InflaterInputStream(input);
+                case COMPRESSION_NONE -> input;
+                default -> throw new IOException("Unsupported chunk compression " + compression);
+            };
+
+            try (DataInputStream stream = new DataInputStream(input)) {
+                return NbtIo.readCompound(stream, NbtSizeTracker.ofUnlimitedBytes());
+            }
+        }
+    }
+}
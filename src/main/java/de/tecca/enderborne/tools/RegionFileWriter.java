@@ -0,0 +1,103 @@
+package de.tecca.enderborne.tools;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtIo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DeflaterOutputStream;
+
+import static de.tecca.enderborne.tools.RegionFileReader.CHUNKS;
+import static de.tecca.enderborne.tools.RegionFileReader.COMPRESSION_DEFLATE;
+import static de.tecca.enderborne.tools.RegionFileReader.SECTOR_BYTES;
+
+/**
+ * Writes a fresh Anvil region file chunk by chunk
+ * Chunks are appended sector-aligned as they arrive and the header is written
+ * on close, so only one chunk is held in memory at a time
+ */
+public class RegionFileWriter implements Closeable {
+
+    // Larger payloads need an external .mcc file, which this writer does not produce
+    private static final int MAX_SECTORS = 255;
+
+    private final FileChannel channel;
+    private final int[] locations = new int[CHUNKS];
+    private final int[] timestamps = new int[CHUNKS];
+    private int nextSector = 2;
+
+    public RegionFileWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Deflate and append a chunk
+     *
+     * @return false if the compressed chunk is too large to store inline
+     */
+    public boolean write(int index, NbtCompound chunk, int timestamp) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+        try (DataOutputStream stream = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            NbtIo.writeCompound(chunk, stream);
+        }
+        return writeRaw(index, new RegionFileReader.RawChunk(COMPRESSION_DEFLATE, bytes.toByteArray()), timestamp);
+    }
+
+    /**
+     * Append a chunk payload exactly as it was stored
+     *
+     * @return false if the payload is too large to store inline
+     */
+    public boolean writeRaw(int index, RegionFileReader.RawChunk chunk, int timestamp) throws IOException {
+        int length = chunk.data().length + 1;
+        int sectors = (length + 4 + SECTOR_BYTES - 1) / SECTOR_BYTES;
+        if (sectors > MAX_SECTORS) {
+            return false;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(sectors * SECTOR_BYTES);
+        buffer.putInt(length);
+        buffer.put((byte) chunk.compression());
+        buffer.put(chunk.data());
+        buffer.rewind();
+
+        writeFully(buffer, (long) nextSector * SECTOR_BYTES);
+
+        locations[index] = (nextSector << 8) | sectors;
+        timestamps[index] = timestamp;
+        nextSector += sectors;
+        return true;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            ByteBuffer header = ByteBuffer.allocate(SECTOR_BYTES * 2);
+            for (int location : locations) {
+                header.putInt(location);
+            }
+            for (int timestamp : timestamps) {
+                header.putInt(timestamp);
+            }
+            header.flip();
+
+            writeFully(header, 0);
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+}
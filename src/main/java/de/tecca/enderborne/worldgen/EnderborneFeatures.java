@@ -0,0 +1,79 @@
+package de.tecca.enderborne.worldgen;
+
+import de.tecca.enderborne.Enderborne;
+import net.fabricmc.fabric.api.biome.v1.BiomeModifications;
+import net.fabricmc.fabric.api.biome.v1.BiomeSelectors;
+import net.minecraft.registry.Registerable;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.registry.RegistryEntryLookup;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.util.Identifier;
+import net.minecraft.world.gen.GenerationStep;
+import net.minecraft.world.gen.feature.ConfiguredFeature;
+import net.minecraft.world.gen.feature.DefaultFeatureConfig;
+import net.minecraft.world.gen.feature.Feature;
+import net.minecraft.world.gen.feature.PlacedFeature;
+import net.minecraft.world.gen.placementmodifier.BiomePlacementModifier;
+
+import java.util.List;
+
+/**
+ * World generation features and their configured/placed registry keys
+ * The configured and placed features are emitted by EnderborneDataGenerator
+ */
+public class EnderborneFeatures {
+
+    private static final Identifier SCULK_CORRUPTION_ID = Identifier.of(Enderborne.MOD_ID, "sculk_corruption");
+
+    public static final Feature<DefaultFeatureConfig> SCULK_CORRUPTION = Registry.register(
+            Registries.FEATURE,
+            SCULK_CORRUPTION_ID,
+            new SculkCorruptionFeature(DefaultFeatureConfig.CODEC)
+    );
+
+    public static final RegistryKey<ConfiguredFeature<?, ?>> SCULK_CORRUPTION_CONFIGURED = RegistryKey.of(
+            RegistryKeys.CONFIGURED_FEATURE,
+            SCULK_CORRUPTION_ID
+    );
+
+    public static final RegistryKey<PlacedFeature> SCULK_CORRUPTION_PLACED = RegistryKey.of(
+            RegistryKeys.PLACED_FEATURE,
+            SCULK_CORRUPTION_ID
+    );
+
+    /**
+     * Add the corruption feature to every biome of the corrupted dimensions
+     * Runs last so it sees the finished terrain surface
+     */
+    public static void register() {
+        BiomeModifications.addFeature(
+                BiomeSelectors.foundInTheEnd().or(BiomeSelectors.foundInTheNether()).or(BiomeSelectors.foundInOverworld()),
+                GenerationStep.Feature.TOP_LAYER_MODIFICATION,
+                SCULK_CORRUPTION_PLACED
+        );
+    }
+
+    /**
+     * Datagen bootstrap for configured features
+     */
+    public static void bootstrapConfigured(Registerable<ConfiguredFeature<?, ?>> context) {
+        context.register(SCULK_CORRUPTION_CONFIGURED,
+                new ConfiguredFeature<>(SCULK_CORRUPTION, DefaultFeatureConfig.INSTANCE));
+    }
+
+    /**
+     * Datagen bootstrap for placed features
+     */
+    public static void bootstrapPlaced(Registerable<PlacedFeature> context) {
+        RegistryEntryLookup<ConfiguredFeature<?, ?>> configuredFeatures =
+                context.getRegistryLookup(RegistryKeys.CONFIGURED_FEATURE);
+
+        // Once per chunk - the feature rolls the dimension's chance itself
+        context.register(SCULK_CORRUPTION_PLACED, new PlacedFeature(
+                configuredFeatures.getOrThrow(SCULK_CORRUPTION_CONFIGURED),
+                List.of(BiomePlacementModifier.of())
+        ));
+    }
+}
@@ -0,0 +1,29 @@
+package de.tecca.enderborne.worldgen;
+
+import net.fabricmc.fabric.api.datagen.v1.FabricDataOutput;
+import net.fabricmc.fabric.api.datagen.v1.provider.FabricDynamicRegistryProvider;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.RegistryWrapper;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Writes Enderborne's configured and placed features to the generated resources
+ */
+public class EnderborneWorldGenProvider extends FabricDynamicRegistryProvider {
+
+    public EnderborneWorldGenProvider(FabricDataOutput output, CompletableFuture<RegistryWrapper.WrapperLookup> registriesFuture) {
+        super(output, registriesFuture);
+    }
+
+    @Override
+    protected void configure(RegistryWrapper.WrapperLookup registries, Entries entries) {
+        entries.add(registries.getOrThrow(RegistryKeys.CONFIGURED_FEATURE), EnderborneFeatures.SCULK_CORRUPTION_CONFIGURED);
+        entries.add(registries.getOrThrow(RegistryKeys.PLACED_FEATURE), EnderborneFeatures.SCULK_CORRUPTION_PLACED);
+    }
+
+    @Override
+    public String getName() {
+        return "Enderborne World Gen";
+    }
+}
@@ -0,0 +1,55 @@
+package de.tecca.enderborne.worldgen;
+
+import com.mojang.serialization.Codec;
+import de.tecca.enderborne.corruption.CorruptionBatch;
+import de.tecca.enderborne.corruption.CorruptionProfile;
+import de.tecca.enderborne.corruption.CorruptionProfiles;
+import de.tecca.enderborne.corruption.CorruptionRandom;
+import de.tecca.enderborne.corruption.SculkCorruptionManager;
+import de.tecca.enderborne.corruption.WorldCorruptionView;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.StructureWorldAccess;
+import net.minecraft.world.World;
+import net.minecraft.world.gen.feature.DefaultFeatureConfig;
+import net.minecraft.world.gen.feature.Feature;
+import net.minecraft.world.gen.feature.util.FeatureContext;
+
+/**
+ * Applies the sculk corruption rules while a chunk generates
+ * Uses the same per-dimension profile, chance and block choice as runtime
+ * corruption, and marks the chunk so the runtime pass skips it after loading
+ */
+public class SculkCorruptionFeature extends Feature<DefaultFeatureConfig> {
+
+    public SculkCorruptionFeature(Codec<DefaultFeatureConfig> configCodec) {
+        super(configCodec);
+    }
+
+    @Override
+    public boolean generate(FeatureContext<DefaultFeatureConfig> context) {
+        StructureWorldAccess world = context.getWorld();
+        ChunkPos chunkPos = new ChunkPos(context.getOrigin());
+
+        // Runtime corruption must not roll this chunk a second time
+        SculkCorruptionManager.markProcessed(world.getChunk(chunkPos.x, chunkPos.z));
+
+        // Same per-chunk stream as runtime corruption, but patches differ at chunk edges:
+        // this path and the sync one write into neighbouring chunks, the async
+        // ChunkSnapshot path cuts patches off at the chunk border
+        RegistryKey<World> dimension = world.toServerWorld().getRegistryKey();
+        CorruptionProfile profile = CorruptionProfiles.get(dimension);
+        Random random = CorruptionRandom.forChunk(world.getSeed(), dimension, chunkPos);
+
+        if (!SculkCorruptionManager.rollChunkCorruption(profile, random)) {
+            return false;
+        }
+
+        CorruptionBatch batch = SculkCorruptionManager.newBatch();
+        SculkCorruptionManager.planChunkCorruption(new WorldCorruptionView(world), profile, chunkPos, random, batch);
+
+        batch.place(world);
+        return true;
+    }
+}
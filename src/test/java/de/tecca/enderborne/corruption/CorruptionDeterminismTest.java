@@ -0,0 +1,119 @@
+package de.tecca.enderborne.corruption;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Corruption must be a pure function of world seed, dimension and ChunkPos
+ * Plans the same chunk against fresh copies of a fixed terrain and compares
+ * the exact batches, change by change
+ */
+class CorruptionDeterminismTest {
+
+    private static final long SEED = 8_146_264_113L;
+    private static final ChunkPos CHUNK = new ChunkPos(3, -2);
+
+    private static CorruptionProfile profile;
+
+    @BeforeAll
+    static void bootstrap() throws IOException {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        profile = CorruptionProfiles.loadBundled(World.END);
+    }
+
+    @Test
+    void sameInputsPlanIdenticalBatch() {
+        List<Change> first = plan(SEED, CHUNK);
+        List<Change> second = plan(SEED, CHUNK);
+
+        assertFalse(first.isEmpty());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void otherStreamsDoNotAffectPlan() {
+        List<Change> expected = plan(SEED, CHUNK);
+
+        // Draw from other chunks and the spread stream in between, as other planner threads would
+        CorruptionRandom.forChunk(SEED, World.END, new ChunkPos(CHUNK.x + 1, CHUNK.z)).nextLong();
+        CorruptionRandom.forSpread(SEED, World.END, 1234L).nextLong();
+
+        assertEquals(expected, plan(SEED, CHUNK));
+    }
+
+    @Test
+    void seedAndChunkChangeThePlan() {
+        List<Change> expected = plan(SEED, CHUNK);
+
+        assertNotEquals(expected, plan(SEED + 1, CHUNK));
+        assertNotEquals(expected, plan(SEED, new ChunkPos(CHUNK.x, CHUNK.z + 1)));
+    }
+
+    @Test
+    void randomStreamsAreKeyedByAllInputs() {
+        long chunk = CorruptionRandom.forChunk(SEED, World.END, CHUNK).nextLong();
+
+        assertEquals(chunk, CorruptionRandom.forChunk(SEED, World.END, CHUNK).nextLong());
+        assertNotEquals(chunk, CorruptionRandom.forChunk(SEED, World.OVERWORLD, CHUNK).nextLong());
+        assertNotEquals(chunk, CorruptionRandom.forChunk(SEED, World.END, new ChunkPos(CHUNK.z, CHUNK.x)).nextLong());
+        assertNotEquals(chunk, CorruptionRandom.forSpread(SEED, World.END, ChunkPos.toLong(CHUNK.x, CHUNK.z)).nextLong());
+    }
+
+    /**
+     * Plan a chunk of a freshly built terrain and list its changes in batch order
+     */
+    private static List<Change> plan(long seed, ChunkPos chunkPos) {
+        ArrayCorruptionView view = createTerrain(chunkPos);
+        Random random = CorruptionRandom.forChunk(seed, World.END, chunkPos);
+        CorruptionBatch batch = new CorruptionBatch();
+
+        SculkCorruptionManager.planChunkCorruption(view, profile, chunkPos, random, batch);
+
+        List<Change> changes = new ArrayList<>();
+        batch.forEachChange((pos, state) -> changes.add(new Change(pos, state)));
+        return changes;
+    }
+
+    /**
+     * Gently rolling end stone around a chunk, with a border so patches are never clipped
+     */
+    private static ArrayCorruptionView createTerrain(ChunkPos chunkPos) {
+        ArrayCorruptionView view = new ArrayCorruptionView(chunkPos.x - 1, chunkPos.z - 1, 3, 3, 0, 128);
+        BlockState endStone = Blocks.END_STONE.getDefaultState();
+
+        for (int x = view.getMinX(); x < view.getMinX() + view.getSizeX(); x++) {
+            for (int z = view.getMinZ(); z < view.getMinZ() + view.getSizeZ(); z++) {
+                int top = 48 + (int) (6 * Math.sin(x * 0.2) * Math.cos(z * 0.15));
+                for (int y = 1; y <= top; y++) {
+                    view.setBlockState(x, y, z, endStone);
+                }
+            }
+        }
+        return view;
+    }
+
+    private record Change(long pos, BlockState state) {
+
+        @Override
+        public String toString() {
+            return BlockPos.fromLong(pos).toShortString() + " -> " + state;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package de.tecca.enderborne.corruption;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CorruptionProfileTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+    }
+
+    @Test
+    void aliasTablePicksOutputsByWeight() {
+        CorruptionProfile profile = compile(List.of(
+                new CorruptionProfileData.Output(Blocks.SCULK, 7),
+                new CorruptionProfileData.Output(Blocks.SCULK_VEIN, 2),
+                new CorruptionProfileData.Output(Blocks.SCULK_CATALYST, 1)));
+
+        Map<Block, Integer> picks = new HashMap<>();
+        Random random = Random.create(7L);
+        for (int i = 0; i < SAMPLES; i++) {
+            picks.merge(profile.pickOutput(random).getBlock(), 1, Integer::sum);
+        }
+
+        assertEquals(0.7, picks.get(Blocks.SCULK) / (double) SAMPLES, 0.01);
+        assertEquals(0.2, picks.get(Blocks.SCULK_VEIN) / (double) SAMPLES, 0.01);
+        assertEquals(0.1, picks.get(Blocks.SCULK_CATALYST) / (double) SAMPLES, 0.01);
+    }
+
+    @Test
+    void singleOutputIsAlwaysPicked() {
+        CorruptionProfile profile = compile(List.of(new CorruptionProfileData.Output(Blocks.SCULK, 3)));
+        Random random = Random.create(7L);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(profile.pickOutput(random).isOf(Blocks.SCULK));
+        }
+    }
+
+    @Test
+    void noOutputsPickNothing() {
+        assertNull(compile(List.of()).pickOutput(Random.create(7L)));
+    }
+
+    @Test
+    void spreadableCoversEveryStateOfListedBlocks() {
+        CorruptionProfile profile = compile(List.of(new CorruptionProfileData.Output(Blocks.SCULK, 1)));
+
+        for (BlockState state : Blocks.END_STONE.getStateManager().getStates()) {
+            assertTrue(profile.canCorrupt(state));
+        }
+        assertFalse(profile.canCorrupt(Blocks.OBSIDIAN.getDefaultState()));
+    }
+
+    private static CorruptionProfile compile(List<CorruptionProfileData.Output> outputs) {
+        CorruptionProfileData data = new CorruptionProfileData(World.END, 1.0f, 0.8f,
+                PatchStamp.MIN_RADIUS, PatchStamp.MAX_RADIUS, List.of("minecraft:end_stone"), outputs,
+                Blocks.END_STONE);
+        return CorruptionProfile.compile(Identifier.of("enderborne", "test"), data);
+    }
+}
@@ -0,0 +1,92 @@
+package de.tecca.enderborne.corruption;
+
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.random.Random;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadedChunkSamplerTest {
+
+    @Test
+    void removeSwapsLastEntryIntoGap() {
+        LoadedChunkSampler sampler = create(1, 2, 3, 4, 5);
+
+        sampler.remove(chunk(2));
+        assertContains(sampler, 1, 3, 4, 5);
+
+        // The moved entry must still be removable through its new index
+        sampler.remove(chunk(5));
+        assertContains(sampler, 1, 3, 4);
+
+        sampler.remove(chunk(3)); // Last entry, nothing to move
+        assertContains(sampler, 1, 4);
+    }
+
+    @Test
+    void duplicateAddsAndUnknownRemovesAreIgnored() {
+        LoadedChunkSampler sampler = create(1, 2);
+
+        sampler.add(chunk(1));
+        sampler.remove(chunk(7));
+        assertContains(sampler, 1, 2);
+
+        sampler.remove(chunk(1));
+        sampler.remove(chunk(1));
+        sampler.add(chunk(1));
+        assertContains(sampler, 1, 2);
+    }
+
+    @Test
+    void sampleOnlyReturnsLoadedChunks() {
+        LoadedChunkSampler sampler = create(1, 2, 3, 4);
+        sampler.remove(chunk(3));
+
+        Random random = Random.create(42L);
+        int[] hits = new int[5];
+        for (int i = 0; i < 3000; i++) {
+            hits[ChunkPos.getPackedX(sampler.sample(random))]++;
+        }
+
+        assertEquals(0, hits[3]);
+        for (int i : new int[]{1, 2, 4}) {
+            assertTrue(hits[i] > 800, "chunk " + i + " sampled " + hits[i] + " times");
+        }
+    }
+
+    @Test
+    void removingEverythingLeavesItEmpty() {
+        LoadedChunkSampler sampler = create(1, 2, 3);
+        sampler.remove(chunk(1));
+        sampler.remove(chunk(3));
+        sampler.remove(chunk(2));
+
+        assertTrue(sampler.isEmpty());
+        assertEquals(0, sampler.toLongArray().length);
+    }
+
+    private static LoadedChunkSampler create(int... xs) {
+        LoadedChunkSampler sampler = new LoadedChunkSampler();
+        for (int x : xs) {
+            sampler.add(chunk(x));
+        }
+        return sampler;
+    }
+
+    private static long chunk(int x) {
+        return ChunkPos.toLong(x, -x);
+    }
+
+    private static void assertContains(LoadedChunkSampler sampler, int... xs) {
+        long[] expected = Arrays.stream(xs).mapToLong(LoadedChunkSamplerTest::chunk).sorted().toArray();
+        long[] actual = sampler.toLongArray();
+        Arrays.sort(actual);
+
+        assertEquals(expected.length, sampler.size());
+        assertArrayEquals(expected, actual);
+    }
+}
@@ -0,0 +1,63 @@
+package de.tecca.enderborne.corruption;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PatchStampTest {
+
+    @Test
+    void offsetsRoundTripAndStayInsideRadius() {
+        for (int radius = PatchStamp.MIN_RADIUS; radius <= PatchStamp.MAX_RADIUS; radius++) {
+            PatchStamp stamp = PatchStamp.create(radius, 0.8f);
+            Set<Integer> seen = new HashSet<>();
+
+            for (int i = 0; i < stamp.size(); i++) {
+                int x = stamp.getOffsetX(i);
+                int y = stamp.getOffsetY(i);
+                int z = stamp.getOffsetZ(i);
+
+                assertTrue(x * x + y * y + z * z < radius * radius, "offset outside radius " + radius);
+                assertTrue(y >= -1 && y <= 2, "offset below or above the patch");
+                assertTrue(seen.add((x + 16) << 10 | (y + 16) << 5 | (z + 16)), "duplicate offset");
+            }
+        }
+    }
+
+    @Test
+    void thresholdsMatchDistanceAndAreSortedNearestFirst() {
+        int radius = 4;
+        float intensity = 0.8f;
+        PatchStamp stamp = PatchStamp.create(radius, intensity);
+
+        assertEquals(0, stamp.getOffsetX(0));
+        assertEquals(0, stamp.getOffsetY(0));
+        assertEquals(0, stamp.getOffsetZ(0));
+
+        for (int i = 0; i < stamp.size(); i++) {
+            int x = stamp.getOffsetX(i);
+            int y = stamp.getOffsetY(i);
+            int z = stamp.getOffsetZ(i);
+            float expected = (float) (intensity * (1.0 - Math.sqrt(x * x + y * y + z * z) / radius));
+
+            assertEquals(expected, stamp.getThreshold(i), 1e-6f);
+            if (i > 0) {
+                assertTrue(stamp.getThreshold(i - 1) >= stamp.getThreshold(i), "not sorted at " + i);
+            }
+        }
+    }
+
+    @Test
+    void createAllIndexesByRadius() {
+        PatchStamp[] stamps = PatchStamp.createAll(2, 5, 0.5f);
+
+        assertEquals(4, stamps.length);
+        for (int i = 1; i < stamps.length; i++) {
+            assertTrue(stamps[i].size() > stamps[i - 1].size());
+        }
+    }
+}